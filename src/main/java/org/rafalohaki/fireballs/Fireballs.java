@@ -5,12 +5,32 @@ import com.github.retrooper.packetevents.event.PacketListener;
 import com.github.retrooper.packetevents.event.PacketListenerPriority;
 import com.github.retrooper.packetevents.event.PacketReceiveEvent;
 import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
+import org.rafalohaki.fireballs.api.FireballService;
+import org.rafalohaki.fireballs.fire.FireTracker;
+import org.rafalohaki.fireballs.homing.HomingTargets;
+import org.rafalohaki.fireballs.journal.EventJournal;
 import org.rafalohaki.fireballs.listener.CustomFireballListener;
+import org.rafalohaki.fireballs.listener.ExplosionFireListener;
+import org.rafalohaki.fireballs.listener.FeatureModules;
+import org.rafalohaki.fireballs.listener.FireChargeRenameListener;
+import org.rafalohaki.fireballs.listener.FriendlyFireListener;
+import org.rafalohaki.fireballs.listener.KillAttributionListener;
+import org.rafalohaki.fireballs.listener.OrphanedFireballReaper;
+import org.rafalohaki.fireballs.service.DefaultFireballService;
+import org.rafalohaki.fireballs.sync.ClusterSync;
+import org.rafalohaki.fireballs.team.TeamRegistry;
+import org.rafalohaki.fireballs.visibility.FireballVisibility;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Material;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 /**
@@ -24,21 +44,66 @@ import java.util.logging.Level;
  * - Custom explosions with configurable effects
  * - Cooldown system (ConcurrentHashMap for thread safety)
  * - Thread-safe on Folia's region threads
+ * - FireballService API for other plugins (Bukkit ServicesManager)
  */
 public final class Fireballs extends JavaPlugin {
 
+    private EventJournal journal;
+    private ClusterSync clusterSync;
     private CustomFireballListener listener;
     private PacketListener packetListener;
+    private FireballVisibility visibility;
+    private TeamRegistry teams;
+    private FireTracker fireTracker;
+    private FeatureModules modules;
+    private HomingTargets homing;
 
     @Override
     public void onEnable() {
         // Save default config if not exists
         saveDefaultConfig();
+        RegionGrid.configure(getConfig().getInt("region-grid-exponent", RegionGrid.DEFAULT_SHIFT));
+
+        // Optional binary event journal (disabled by default)
+        journal = EventJournal.fromConfig(this);
+        journal.start();
 
         // Register event listener
         // Events in Folia are automatically called on the appropriate region threads
-        listener = new CustomFireballListener(this);
+        clusterSync = ClusterSync.fromConfig(this);
+        visibility = new FireballVisibility(this);
+        visibility.start();
+        teams = new TeamRegistry();
+        homing = new HomingTargets(this);
+        homing.start();
+        listener = new CustomFireballListener(this, journal, clusterSync, visibility, teams, homing);
+        clusterSync.start(listener.getCooldowns(), listener.getKillStats());
+        if (clusterSync.isEnabled()) {
+            // Remote cooldowns arrive for players who never quit here - expire them periodically
+            getServer().getAsyncScheduler().runAtFixedRate(this, task -> listener.removeExpiredCooldowns(),
+                    1L, 1L, TimeUnit.MINUTES);
+        }
         getServer().getPluginManager().registerEvents(listener, this);
+        // Optional features are only registered while enabled - disabled ones cost no dispatch
+        fireTracker = FireTracker.fromConfig(this);
+        modules = new FeatureModules(this);
+        modules.add("rename", () -> getConfig().getBoolean("rename-fire-charge", true),
+                () -> new FireChargeRenameListener(this));
+        modules.add("kill-attribution", listener::isAttributionEnabled,
+                () -> new KillAttributionListener(this, listener, journal, clusterSync, teams));
+        // Damage filter is only registered when used - EntityDamageEvent is a hot event
+        modules.add("friendly-fire", () -> getConfig().getBoolean("friendly-fire.protect-teammates", false),
+                () -> new FriendlyFireListener(this, teams, listener.getExplosionContext()));
+        // Burns out fire lit by our explosions - BlockIgniteEvent is only listened to when enabled
+        modules.add("fire-tracking", fireTracker::isEnabled,
+                () -> new ExplosionFireListener(fireTracker, listener.getExplosionContext()));
+        modules.apply();
+        // Removes or re-arms tagged fireballs whose TTL task was lost with an unload/restart
+        getServer().getPluginManager().registerEvents(new OrphanedFireballReaper(this, listener), this);
+
+        // Expose launch API to other plugins
+        getServer().getServicesManager().register(FireballService.class,
+                new DefaultFireballService(this, listener, teams), this, ServicePriority.Normal);
 
         // Register packet listener for USE_ITEM packets
         // Stored field reference allows proper unregistration using asAbstract()
@@ -72,14 +137,39 @@ public final class Fireballs extends JavaPlugin {
         };
 
         PacketEvents.getAPI().getEventManager().registerListener(packetListener, PacketListenerPriority.NORMAL);
+        // Throttles movement packets of culled fireballs for distant viewers
+        PacketEvents.getAPI().getEventManager().registerListener(visibility, PacketListenerPriority.NORMAL);
 
         getLogger().info("Custom Fireballs plugin enabled! (Folia 1.21.8+)");
         getLogger().log(Level.INFO, "Set fire: {0}", getConfig().getBoolean("set-fire", true));
         getLogger().log(Level.INFO, "Explosion power: {0}", getConfig().getDouble("explosion-power", 4.0));
     }
 
+    /**
+     * /fireballs reload - re-reads config.yml, refreshes cached values and
+     * re-registers feature modules from the new config. The journal, cluster
+     * sync and region-grid-exponent are only read on enable.
+     */
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length != 1 || !"reload".equalsIgnoreCase(args[0])) {
+            return false;
+        }
+        reloadConfig();
+        listener.reloadConfig();
+        fireTracker.reload();
+        modules.apply();
+        sender.sendMessage(Component.text("Konfiguracja Fireballs przeładowana.", NamedTextColor.GREEN));
+        return true;
+    }
+
     @Override
     public void onDisable() {
+        getServer().getServicesManager().unregisterAll(this);
+        if (modules != null) {
+            modules.clear();
+            modules = null;
+        }
         // CRITICAL: Clean up cooldowns to prevent memory leaks on reload
         if (listener != null) {
             listener.cleanup();
@@ -88,6 +178,34 @@ public final class Fireballs extends JavaPlugin {
             PacketEvents.getAPI().getEventManager().unregisterListener(packetListener.asAbstract(PacketListenerPriority.NORMAL));
             packetListener = null;
         }
+        if (fireTracker != null) {
+            fireTracker.close();
+            fireTracker = null;
+        }
+        if (homing != null) {
+            homing.close();
+            homing = null;
+        }
+        if (teams != null) {
+            teams.clear();
+            teams = null;
+        }
+        if (visibility != null) {
+            PacketEvents.getAPI().getEventManager().unregisterListener(visibility.asAbstract(PacketListenerPriority.NORMAL));
+            visibility.clear();
+            visibility = null;
+        }
+        getServer().getAsyncScheduler().cancelTasks(this);
+        // Send what is still queued before the transport closes
+        if (clusterSync != null) {
+            clusterSync.close();
+            clusterSync = null;
+        }
+        // Flush remaining journal records after listeners stop producing them
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
         getLogger().info("Custom Fireballs plugin disabled.");
     }
 }
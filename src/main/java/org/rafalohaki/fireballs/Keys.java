@@ -11,10 +11,14 @@ public final class Keys {
 
     private final NamespacedKey customFireballKey;
     private final NamespacedKey shooterUuidKey;
+    private final NamespacedKey profileKey;
+    private final NamespacedKey expiryTickKey;
 
     public Keys(Plugin plugin) {
         this.customFireballKey = new NamespacedKey(plugin, "custom_fireball");
         this.shooterUuidKey = new NamespacedKey(plugin, "shooter_uuid");
+        this.profileKey = new NamespacedKey(plugin, "profile");
+        this.expiryTickKey = new NamespacedKey(plugin, "expiry_tick");
     }
 
     public NamespacedKey customFireballKey() {
@@ -24,4 +28,12 @@ public final class Keys {
     public NamespacedKey shooterUuidKey() {
         return shooterUuidKey;
     }
+
+    public NamespacedKey profileKey() {
+        return profileKey;
+    }
+
+    public NamespacedKey expiryTickKey() {
+        return expiryTickKey;
+    }
 }
@@ -0,0 +1,54 @@
+package org.rafalohaki.fireballs;
+
+/**
+ * Folia region section size, shared by everything that groups work per region.
+ *
+ * Folia splits worlds into square sections of 2^exponent chunks per side and
+ * always assigns a whole section to one region. The exponent comes from
+ * threaded-regions.grid-exponent in the server config and defaults to 4
+ * (16x16 chunks); set region-grid-exponent in config.yml to match servers
+ * that changed it. Read once on enable - section-keyed state would otherwise
+ * be split between two grids.
+ *
+ * Has no Bukkit dependencies so the offline journal replay can use it too.
+ */
+public final class RegionGrid {
+
+    // Folia default threaded-regions.grid-exponent: 16x16 chunk sections
+    public static final int DEFAULT_SHIFT = 4;
+    private static final int MIN_SHIFT = 0;
+    private static final int MAX_SHIFT = 8;
+
+    private static volatile int shift = DEFAULT_SHIFT;
+
+    private RegionGrid() {
+    }
+
+    /**
+     * Sets the grid exponent. Out of range values are clamped.
+     */
+    public static void configure(int exponent) {
+        shift = Math.max(MIN_SHIFT, Math.min(MAX_SHIFT, exponent));
+    }
+
+    /**
+     * @return chunks per section side as a power of two
+     */
+    public static int shift() {
+        return shift;
+    }
+
+    /**
+     * @return section coordinate of a chunk coordinate
+     */
+    public static int section(int chunkCoord) {
+        return chunkCoord >> shift;
+    }
+
+    /**
+     * @return section coordinate of a block coordinate
+     */
+    public static int sectionOfBlock(int blockCoord) {
+        return blockCoord >> (shift + 4);
+    }
+}
@@ -0,0 +1,39 @@
+package org.rafalohaki.fireballs.api;
+
+import org.bukkit.entity.LargeFireball;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tracks a fireball launched through {@link FireballService}.
+ * Launches are scheduled on the origin's region, so the entity does not exist
+ * yet when the handle is returned.
+ */
+public interface FireballHandle {
+
+    /**
+     * @return the launch this handle was created for
+     */
+    FireballLaunch launch();
+
+    /**
+     * Completes with the spawned fireball, or with null if the launch was
+     * cancelled before it was spawned or could not be spawned. Completes
+     * exceptionally if spawning threw (e.g. the world was unloaded).
+     * Only touch the entity from its own region thread (e.g. its EntityScheduler).
+     */
+    CompletableFuture<LargeFireball> spawned();
+
+    /**
+     * @return true while the launch is pending or the fireball is still in flight
+     */
+    boolean isActive();
+
+    /**
+     * Cancels a pending launch or removes the fireball if it is in flight.
+     * Safe to call from any thread.
+     *
+     * @return true if there was something to cancel
+     */
+    boolean cancel();
+}
@@ -0,0 +1,37 @@
+package org.rafalohaki.fireballs.api;
+
+import org.bukkit.Location;
+import org.bukkit.projectiles.ProjectileSource;
+import org.bukkit.util.Vector;
+
+/**
+ * Description of a single fireball to launch through {@link FireballService}.
+ *
+ * @param origin   Spawn location (cloned on creation)
+ * @param velocity Initial velocity in blocks per tick (cloned on creation)
+ * @param profile  Profile name, unknown names fall back to the default profile
+ * @param shooter  Shooter for damage and kill attribution, may be null
+ */
+public record FireballLaunch(Location origin, Vector velocity, String profile, ProjectileSource shooter) {
+
+    public FireballLaunch {
+        if (origin == null || origin.getWorld() == null) {
+            throw new IllegalArgumentException("origin must have a world");
+        }
+        if (velocity == null) {
+            throw new IllegalArgumentException("velocity must not be null");
+        }
+        // Location and Vector are mutable - never share the caller's instances
+        origin = origin.clone();
+        velocity = velocity.clone();
+        profile = profile != null ? profile : FireballProfile.DEFAULT;
+    }
+
+    public static FireballLaunch of(Location origin, Vector velocity, String profile, ProjectileSource shooter) {
+        return new FireballLaunch(origin, velocity, profile, shooter);
+    }
+
+    public static FireballLaunch of(Location origin, Vector velocity) {
+        return new FireballLaunch(origin, velocity, FireballProfile.DEFAULT, null);
+    }
+}
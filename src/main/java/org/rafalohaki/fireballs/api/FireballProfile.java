@@ -0,0 +1,36 @@
+package org.rafalohaki.fireballs.api;
+
+/**
+ * Named set of fireball behaviour settings.
+ * Profiles are loaded from the "profiles" config section; "default" is built
+ * from the top-level explosion settings and is used for Fire Charge shots.
+ *
+ * @param name           Profile name (config key)
+ * @param explosionPower Explosion power (TNT = 4.0)
+ * @param setFire        Whether the explosion sets blocks on fire
+ * @param breakBlocks    Whether the explosion breaks blocks
+ * @param maxFlightTicks Ticks before an unexploded fireball is removed, 0 or less for no limit
+ * @param trackingRadius Only players within this many blocks see the fireball, 0 or less for vanilla tracking
+ * @param homingRange    Steers toward the nearest valid player within this many blocks, 0 or less for no homing
+ * @param homingTurnRate Maximum steering per tick in radians
+ */
+public record FireballProfile(String name, float explosionPower, boolean setFire, boolean breakBlocks,
+                              int maxFlightTicks, double trackingRadius, double homingRange, double homingTurnRate) {
+
+    public static final String DEFAULT = "default";
+
+    /**
+     * Creates a non-homing profile.
+     */
+    public FireballProfile(String name, float explosionPower, boolean setFire, boolean breakBlocks,
+                           int maxFlightTicks, double trackingRadius) {
+        this(name, explosionPower, setFire, breakBlocks, maxFlightTicks, trackingRadius, 0.0, 0.0);
+    }
+
+    /**
+     * @return true if fireballs of this profile steer toward players
+     */
+    public boolean isHoming() {
+        return homingRange > 0.0 && homingTurnRate > 0.0;
+    }
+}
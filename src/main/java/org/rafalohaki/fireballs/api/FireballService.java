@@ -0,0 +1,63 @@
+package org.rafalohaki.fireballs.api;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Public API for launching custom fireballs from other plugins.
+ * Registered in Bukkit's ServicesManager:
+ * <pre>
+ * FireballService service = Bukkit.getServicesManager().load(FireballService.class);
+ * </pre>
+ *
+ * All methods are safe to call from any thread - spawning is always scheduled
+ * on the region that owns the origin.
+ */
+public interface FireballService {
+
+    /**
+     * @return the profile with the given name, or the default profile if unknown
+     */
+    FireballProfile profile(String name);
+
+    /**
+     * @return names of all loaded profiles
+     */
+    Collection<String> profileNames();
+
+    /**
+     * Launches a single fireball.
+     */
+    FireballHandle launch(FireballLaunch launch);
+
+    /**
+     * Launches many fireballs at once.
+     * Launches are grouped per region and each group is spawned in a single
+     * region task, so scripted volleys cost one task per region, not one per fireball.
+     *
+     * @return handles in the same order as the launches
+     */
+    List<FireballHandle> launchAll(Collection<FireballLaunch> launches);
+
+    /**
+     * @return fireball kills of the player since startup, including kills
+     *         replicated from other nodes when cluster sync is enabled
+     */
+    long kills(UUID playerId);
+
+    /**
+     * Puts the player in a team for friendly-fire filtering
+     * (friendly-fire.source: api). Call from your team join handler.
+     * Memberships only last while the player is online - they are cleared
+     * when the player quits, so set the team again when they rejoin.
+     *
+     * @param teamName Team name, or null to remove the player from any team
+     */
+    void setTeam(UUID playerId, String teamName);
+
+    /**
+     * Removes the player from their team. Call from your team leave handler.
+     */
+    void clearTeam(UUID playerId);
+}
@@ -0,0 +1,272 @@
+package org.rafalohaki.fireballs.collision;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+import org.bukkit.GameMode;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.RayTraceResult;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Swept-sphere collision for fast projectiles.
+ *
+ * Traces the segment a projectile covers in one tick instead of testing only
+ * its end position, so fast fireballs cannot tunnel through thin walls or
+ * players between ticks.
+ * - Blocks: voxel DDA (Amanatides-Woo) along the segment; at every centerline
+ *   voxel all blocks within ceil(radius) are tested too, so the whole swept
+ *   volume is covered, not just the centerline. Each block's collision boxes
+ *   are inflated by the sphere radius and ray-tested
+ * - Entities: one bounded getNearbyEntities() query around the segment.
+ *   Candidates are ordered by the earliest point along the segment their
+ *   inflated box can reach, so the candidate cap always keeps the entities
+ *   nearest the start and the scan stops once no closer hit is possible
+ *
+ * FOLIA SAFETY: Must run on the projectile's region thread. The block walk
+ * stops at the first chunk not owned by the current region - vanilla
+ * collision still handles anything past that point. Neighbour blocks in
+ * foreign or unloaded chunks are skipped.
+ */
+public final class SweptCollider {
+
+    /**
+     * Result of a swept trace.
+     *
+     * @param point  Exact impact point (sphere centre at contact)
+     * @param entity Entity that was hit, or null for a block hit
+     */
+    public record Impact(Vector point, Entity entity) {
+    }
+
+    // Entity with the earliest segment distance its inflated box can be hit at
+    private record Candidate(Entity entity, BoundingBox inflated, double lowerBound) {
+    }
+
+    private final double radius;
+    // Neighbour voxels to test around each centerline voxel
+    private final int reach;
+    private final int maxEntityCandidates;
+
+    public SweptCollider(double radius, int maxEntityCandidates) {
+        this.radius = Math.max(0.0, radius);
+        this.reach = (int) Math.ceil(this.radius);
+        this.maxEntityCandidates = Math.max(0, maxEntityCandidates);
+    }
+
+    /**
+     * Traces one tick of movement.
+     *
+     * @param world      World the projectile is in
+     * @param start      Position at the start of the tick
+     * @param motion     Movement this tick (velocity)
+     * @param projectile The projectile itself (never hit)
+     * @param ignored    Entity to ignore (e.g. shooter right after launch), may be null
+     * @return nearest impact, or null if the segment is clear
+     */
+    public Impact trace(World world, Vector start, Vector motion, Entity projectile, Entity ignored) {
+        double length = motion.length();
+        if (length < 1.0E-6) {
+            return null;
+        }
+        Vector dir = motion.clone().multiply(1.0 / length);
+
+        double best = length;
+        Vector bestPoint = null;
+        Entity bestEntity = null;
+
+        double blockHit = traceBlocks(world, start, dir, length);
+        if (blockHit >= 0.0 && blockHit <= best) {
+            best = blockHit;
+            bestPoint = start.clone().add(dir.clone().multiply(blockHit));
+        }
+
+        if (maxEntityCandidates > 0) {
+            BoundingBox sweep = BoundingBox.of(start, start.clone().add(motion)).expand(radius);
+            Collection<Entity> nearby = world.getNearbyEntities(sweep,
+                    e -> e != projectile && e != ignored && isHittable(e));
+            List<Candidate> candidates = new ArrayList<>(nearby.size());
+            for (Entity entity : nearby) {
+                BoundingBox inflated = entity.getBoundingBox().expand(radius);
+                // Already overlapping at tick start - vanilla collision handles it
+                if (inflated.contains(start)) {
+                    continue;
+                }
+                // No point of the box projects closer along the segment than this
+                double halfDiagonal = 0.5 * Math.sqrt(inflated.getWidthX() * inflated.getWidthX()
+                        + inflated.getHeight() * inflated.getHeight()
+                        + inflated.getWidthZ() * inflated.getWidthZ());
+                double lowerBound = inflated.getCenter().subtract(start).dot(dir) - halfDiagonal;
+                if (lowerBound <= best) {
+                    candidates.add(new Candidate(entity, inflated, Math.max(0.0, lowerBound)));
+                }
+            }
+            candidates.sort((a, b) -> Double.compare(a.lowerBound(), b.lowerBound()));
+
+            int limit = Math.min(candidates.size(), maxEntityCandidates);
+            for (int i = 0; i < limit; i++) {
+                Candidate candidate = candidates.get(i);
+                if (candidate.lowerBound() > best) {
+                    break; // Sorted - nothing later can be closer
+                }
+                RayTraceResult hit = candidate.inflated().rayTrace(start, dir, best);
+                if (hit == null) {
+                    continue;
+                }
+                double distance = hit.getHitPosition().distance(start);
+                if (distance <= best) {
+                    best = distance;
+                    bestPoint = hit.getHitPosition();
+                    bestEntity = candidate.entity();
+                }
+            }
+        }
+
+        return bestPoint == null ? null : new Impact(bestPoint, bestEntity);
+    }
+
+    /**
+     * Walks the voxels crossed by the segment and returns the distance to the
+     * first inflated collision box, or -1 if nothing was hit.
+     *
+     * A hit at distance d lies inside the centerline voxel reached at some
+     * t <= d, and its block is within {@link #reach} of that voxel, so the walk
+     * can stop as soon as t passes the best hit found so far.
+     */
+    private double traceBlocks(World world, Vector start, Vector dir, double length) {
+        int x = floor(start.getX());
+        int y = floor(start.getY());
+        int z = floor(start.getZ());
+
+        int stepX = dir.getX() > 0 ? 1 : -1;
+        int stepY = dir.getY() > 0 ? 1 : -1;
+        int stepZ = dir.getZ() > 0 ? 1 : -1;
+
+        double tDeltaX = dir.getX() == 0 ? Double.POSITIVE_INFINITY : Math.abs(1.0 / dir.getX());
+        double tDeltaY = dir.getY() == 0 ? Double.POSITIVE_INFINITY : Math.abs(1.0 / dir.getY());
+        double tDeltaZ = dir.getZ() == 0 ? Double.POSITIVE_INFINITY : Math.abs(1.0 / dir.getZ());
+
+        double tMaxX = boundary(start.getX(), x, stepX, tDeltaX);
+        double tMaxY = boundary(start.getY(), y, stepY, tDeltaY);
+        double tMaxZ = boundary(start.getZ(), z, stepZ, tDeltaZ);
+
+        double best = -1.0;
+        double t = 0.0;
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+        // Neighbourhoods of consecutive voxels overlap - test each block once
+        Set<Long> tested = reach > 0 ? new HashSet<>() : null;
+        // chunk key -> owned by this region and loaded
+        Map<Long, Boolean> usableChunks = new HashMap<>(4);
+
+        while (t <= length && (best < 0.0 || t <= best)) {
+            // Past the centerline's first foreign chunk vanilla collision takes over
+            if (!isUsableChunk(world, x >> 4, z >> 4, usableChunks)) {
+                return best;
+            }
+
+            for (int bx = x - reach; bx <= x + reach; bx++) {
+                for (int by = Math.max(minY, y - reach); by <= Math.min(maxY - 1, y + reach); by++) {
+                    for (int bz = z - reach; bz <= z + reach; bz++) {
+                        if (tested != null && !tested.add(blockKey(bx, by, bz))) {
+                            continue;
+                        }
+                        if (!isUsableChunk(world, bx >> 4, bz >> 4, usableChunks)) {
+                            continue;
+                        }
+                        double hit = hitBlock(world.getBlockAt(bx, by, bz), start, dir, length);
+                        if (hit >= 0.0 && (best < 0.0 || hit < best)) {
+                            best = hit;
+                        }
+                    }
+                }
+            }
+
+            // Step into the next voxel along the axis with the nearest boundary
+            if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+                x += stepX;
+                t = tMaxX;
+                tMaxX += tDeltaX;
+            } else if (tMaxY < tMaxZ) {
+                y += stepY;
+                t = tMaxY;
+                tMaxY += tDeltaY;
+            } else {
+                z += stepZ;
+                t = tMaxZ;
+                tMaxZ += tDeltaZ;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isUsableChunk(World world, int chunkX, int chunkZ, Map<Long, Boolean> cache) {
+        long key = ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+        Boolean usable = cache.get(key);
+        if (usable == null) {
+            usable = Bukkit.isOwnedByCurrentRegion(world, chunkX, chunkZ) && world.isChunkLoaded(chunkX, chunkZ);
+            cache.put(key, usable);
+        }
+        return usable;
+    }
+
+    private double hitBlock(Block block, Vector start, Vector dir, double length) {
+        if (block.isPassable()) {
+            return -1.0;
+        }
+        double best = -1.0;
+        int bx = block.getX();
+        int by = block.getY();
+        int bz = block.getZ();
+        // Collision boxes are relative to the block origin
+        for (BoundingBox box : block.getCollisionShape().getBoundingBoxes()) {
+            BoundingBox inflated = box.shift(bx, by, bz).expand(radius);
+            if (inflated.contains(start)) {
+                continue;
+            }
+            RayTraceResult hit = inflated.rayTrace(start, dir, length);
+            if (hit == null) {
+                continue;
+            }
+            double distance = hit.getHitPosition().distance(start);
+            if (best < 0.0 || distance < best) {
+                best = distance;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isHittable(Entity entity) {
+        if (!(entity instanceof LivingEntity) || entity.isDead()) {
+            return false;
+        }
+        return !(entity instanceof Player player) || player.getGameMode() != GameMode.SPECTATOR;
+    }
+
+    private static double boundary(double pos, int cell, int step, double tDelta) {
+        if (Double.isInfinite(tDelta)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double next = step > 0 ? cell + 1 - pos : pos - cell;
+        return next * tDelta;
+    }
+
+    private static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+}
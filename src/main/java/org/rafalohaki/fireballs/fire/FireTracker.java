@@ -0,0 +1,489 @@
+package org.rafalohaki.fireballs.fire;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.Plugin;
+import org.rafalohaki.fireballs.RegionGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Bounded index of fire blocks created by our explosions (and fire spreading from them).
+ *
+ * Fire positions are stored per chunk as packed ints with a parallel array of
+ * expiry game ticks, grouped by {@link RegionGrid} section. Each section
+ * enforces a fire cap; ignites beyond it are cancelled. A global task
+ * schedules one time-sliced sweep per section with tracked fire on the owning
+ * region, which compares expiries with that region's game time and
+ * extinguishes at most sweep-batch blocks within sweep-budget-micros.
+ *
+ * Expiries are game ticks, like the fireball expiry tag, so fire burns for
+ * burn-out-ticks ticks of its region even when the region lags. When a chunk
+ * unloads its entries are frozen as remaining ticks and resumed when it loads
+ * again, so time spent unloaded does not count. Burnt-out fire in a chunk
+ * that unloaded without being frozen stays in the index, parked until
+ * {@link #onChunkLoad} marks its section due again.
+ *
+ * Fire lit by anything else is never tracked, and a tracked position that is
+ * re-lit by something else is dropped from the index.
+ *
+ * The tracker lives as long as the plugin; enabled and the limits are
+ * re-read by {@link #reload()}. Once started, the dispatcher keeps sweeping
+ * fire that is already tracked even after fire-tracking is switched off.
+ *
+ * FOLIA THREAD SAFETY:
+ * - Sections live in a ConcurrentHashMap; each section is guarded by its own
+ *   monitor (chunks of one section may belong to different regions)
+ * - Blocks are only touched from a region task after isOwnedByCurrentRegion()
+ */
+public final class FireTracker {
+
+    private record SectionKey(UUID world, int x, int z) {
+    }
+
+    /**
+     * Fire tracked in one chunk. Positions pack local x (4 bits), z (4 bits)
+     * and y above the world minimum (remaining bits).
+     */
+    private static final class ChunkFires {
+        int[] positions = new int[8];
+        // Expiry game ticks, or remaining ticks while frozen
+        long[] expiries = new long[8];
+        int size;
+        // Set while the chunk is unloaded
+        boolean frozen;
+
+        void add(int packed, long expiry) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                expiries = Arrays.copyOf(expiries, size * 2);
+            }
+            positions[size] = packed;
+            expiries[size] = expiry;
+            size++;
+        }
+
+        int indexOf(int packed) {
+            for (int i = 0; i < size; i++) {
+                if (positions[i] == packed) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Order does not matter - swap with the last entry
+        void removeAt(int index) {
+            size--;
+            positions[index] = positions[size];
+            expiries[index] = expiries[size];
+        }
+    }
+
+    private static final class SectionFires {
+        final Map<Long, ChunkFires> chunks = new HashMap<>();
+        int count;
+        long earliestExpiry = Long.MAX_VALUE;
+        boolean sweepScheduled;
+        // Set when an empty section is dropped from the map - writers must re-fetch
+        boolean detached;
+    }
+
+    private final Plugin plugin;
+
+    // Config values (volatile for reload visibility across region threads)
+    private volatile boolean enabled;
+    private volatile int maxPerRegion;
+    private volatile long burnOutTicks;
+    private volatile long sweepIntervalTicks;
+    private volatile int sweepBatch;
+    private volatile long sweepBudgetNanos;
+
+    private final ConcurrentHashMap<SectionKey, SectionFires> sections = new ConcurrentHashMap<>();
+    // Guarded by this
+    private ScheduledTask sweepTask;
+    private long scheduledIntervalTicks;
+
+    private FireTracker(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Creates the tracker from the "fire-tracking" config section.
+     */
+    public static FireTracker fromConfig(Plugin plugin) {
+        FireTracker tracker = new FireTracker(plugin);
+        tracker.reload();
+        return tracker;
+    }
+
+    /**
+     * Re-reads the "fire-tracking" config section. A changed sweep interval
+     * takes effect on the next {@link #start()}.
+     */
+    public void reload() {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("fire-tracking");
+        if (section == null) {
+            section = plugin.getConfig().createSection("fire-tracking");
+        }
+        enabled = section.getBoolean("enabled", false);
+        maxPerRegion = Math.max(0, section.getInt("max-per-region", 512));
+        burnOutTicks = Math.max(1L, section.getLong("burn-out-ticks", 200L));
+        sweepIntervalTicks = Math.max(1L, section.getLong("sweep-interval-ticks", 20L));
+        sweepBatch = Math.max(1, section.getInt("sweep-batch", 64));
+        sweepBudgetNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(50L, section.getLong("sweep-budget-micros", 500L)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts the global task that dispatches per-region sweeps. Idempotent -
+     * a running dispatcher is only replaced when the sweep interval changed.
+     */
+    public synchronized void start() {
+        long interval = sweepIntervalTicks;
+        if (sweepTask != null) {
+            if (scheduledIntervalTicks == interval) {
+                return;
+            }
+            sweepTask.cancel();
+        }
+        sweepTask = plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, task -> dispatchSweeps(),
+                interval, interval);
+        scheduledIntervalTicks = interval;
+    }
+
+    /**
+     * Starts tracking a fire block lit by our explosion or spreading from our fire.
+     * Must run on the block's region thread.
+     *
+     * @return false if the region is at its cap - the ignite should be cancelled
+     */
+    public boolean track(Block block) {
+        SectionKey key = sectionKey(block);
+        long burnOut = burnOutTicks;
+        long expiry = block.getWorld().getGameTime() + burnOut;
+        while (true) {
+            SectionFires section = sections.computeIfAbsent(key, k -> new SectionFires());
+            synchronized (section) {
+                if (!section.detached) {
+                    return track(section, block, expiry, burnOut);
+                }
+            }
+        }
+    }
+
+    // Caller holds the section monitor
+    private boolean track(SectionFires section, Block block, long expiry, long burnOut) {
+        if (section.count >= maxPerRegion) {
+            return false;
+        }
+        ChunkFires fires = section.chunks.computeIfAbsent(chunkKey(block), k -> new ChunkFires());
+        if (fires.frozen) {
+            // Ignite raced the unload - store the remaining ticks instead
+            int index = fires.indexOf(pack(block));
+            if (index >= 0) {
+                fires.expiries[index] = burnOut;
+            } else {
+                fires.add(pack(block), burnOut);
+                section.count++;
+            }
+            return true;
+        }
+        int packed = pack(block);
+        int index = fires.indexOf(packed);
+        if (index >= 0) {
+            fires.expiries[index] = expiry; // Re-lit by our own fire - extend
+        } else {
+            fires.add(packed, expiry);
+            section.count++;
+        }
+        section.earliestExpiry = Math.min(section.earliestExpiry, expiry);
+        return true;
+    }
+
+    /**
+     * @return true if the block is fire we are tracking
+     */
+    public boolean isTracked(Block block) {
+        SectionFires section = sections.get(sectionKey(block));
+        if (section == null) {
+            return false;
+        }
+        synchronized (section) {
+            ChunkFires fires = section.chunks.get(chunkKey(block));
+            return fires != null && fires.indexOf(pack(block)) >= 0;
+        }
+    }
+
+    /**
+     * Stops tracking a block, e.g. because something else lit fire there.
+     */
+    public void untrack(Block block) {
+        SectionFires section = sections.get(sectionKey(block));
+        if (section == null) {
+            return;
+        }
+        synchronized (section) {
+            ChunkFires fires = section.chunks.get(chunkKey(block));
+            if (fires == null) {
+                return;
+            }
+            int index = fires.indexOf(pack(block));
+            if (index >= 0) {
+                fires.removeAt(index);
+                section.count--;
+            }
+        }
+    }
+
+    /**
+     * Freezes the fire of an unloading chunk as remaining ticks, so time spent
+     * unloaded does not count towards its burn-out. Runs on the chunk's region thread.
+     */
+    public void onChunkUnload(World world, int chunkX, int chunkZ) {
+        SectionFires section = sections.get(sectionKey(world, chunkX, chunkZ));
+        if (section == null) {
+            return;
+        }
+        long now = world.getGameTime();
+        synchronized (section) {
+            ChunkFires fires = section.chunks.get(chunkKey(chunkX, chunkZ));
+            if (fires == null || fires.frozen) {
+                return;
+            }
+            for (int i = 0; i < fires.size; i++) {
+                fires.expiries[i] = Math.max(0L, fires.expiries[i] - now);
+            }
+            fires.frozen = true;
+        }
+    }
+
+    /**
+     * Resumes the fire of a freshly loaded chunk with its remaining ticks.
+     * Fire parked there without being frozen is due immediately.
+     * Runs on the chunk's region thread.
+     */
+    public void onChunkLoad(World world, int chunkX, int chunkZ) {
+        SectionFires section = sections.get(sectionKey(world, chunkX, chunkZ));
+        if (section == null) {
+            return;
+        }
+        long now = world.getGameTime();
+        synchronized (section) {
+            ChunkFires fires = section.chunks.get(chunkKey(chunkX, chunkZ));
+            if (fires == null) {
+                return;
+            }
+            if (!fires.frozen) {
+                section.earliestExpiry = Math.min(section.earliestExpiry, now);
+                return;
+            }
+            for (int i = 0; i < fires.size; i++) {
+                fires.expiries[i] += now;
+                section.earliestExpiry = Math.min(section.earliestExpiry, fires.expiries[i]);
+            }
+            fires.frozen = false;
+        }
+    }
+
+    /**
+     * Runs on the global region thread. Schedules at most one sweep per
+     * section with fire that can burn out; never touches blocks itself.
+     * Game time is per region on Folia, so the expiry check itself happens
+     * in the sweep.
+     */
+    private void dispatchSweeps() {
+        for (Map.Entry<SectionKey, SectionFires> entry : sections.entrySet()) {
+            SectionFires section = entry.getValue();
+            long anchor;
+            synchronized (section) {
+                if (section.sweepScheduled) {
+                    continue;
+                }
+                if (section.count == 0) {
+                    // Nothing left - drop the section so idle areas cost no memory
+                    section.detached = true;
+                    sections.remove(entry.getKey(), section);
+                    continue;
+                }
+                if (section.earliestExpiry == Long.MAX_VALUE) {
+                    continue; // Only frozen or parked fire
+                }
+                anchor = section.chunks.keySet().iterator().next();
+                section.sweepScheduled = true;
+            }
+            World world = Bukkit.getWorld(entry.getKey().world());
+            if (world == null) {
+                synchronized (section) {
+                    section.detached = true;
+                }
+                sections.remove(entry.getKey(), section); // World unloaded
+                continue;
+            }
+            scheduleSweep(world, section, anchor);
+        }
+    }
+
+    private void scheduleSweep(World world, SectionFires section, long chunk) {
+        plugin.getServer().getRegionScheduler().run(plugin, world, chunkX(chunk), chunkZ(chunk),
+                task -> sweep(world, section));
+    }
+
+    /**
+     * Extinguishes burnt-out fire of one section, bounded by batch size and time budget.
+     * Runs on a region thread; loaded chunks owned by another region get their own task.
+     * Frozen chunks are skipped. Burnt-out entries in unloaded chunks are kept
+     * but left out of the section's earliest expiry (fire does not tick there) -
+     * {@link #onChunkLoad} re-arms them.
+     */
+    private void sweep(World world, SectionFires section) {
+        long start = System.nanoTime();
+        long now = world.getGameTime();
+        int batch = sweepBatch;
+        long budget = sweepBudgetNanos;
+        long foreignChunk = Long.MIN_VALUE;
+        List<int[]> due = new ArrayList<>();
+
+        synchronized (section) {
+            if (section.earliestExpiry > now) {
+                section.sweepScheduled = false; // Nothing burnt out yet in this region's time
+                return;
+            }
+            long earliest = Long.MAX_VALUE;
+            Iterator<Map.Entry<Long, ChunkFires>> it = section.chunks.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, ChunkFires> entry = it.next();
+                long chunk = entry.getKey();
+                ChunkFires fires = entry.getValue();
+                if (fires.frozen) {
+                    continue; // Resumed by onChunkLoad
+                }
+                int cx = chunkX(chunk);
+                int cz = chunkZ(chunk);
+                boolean loaded = world.isChunkLoaded(cx, cz);
+                boolean owned = loaded && Bukkit.isOwnedByCurrentRegion(world, cx, cz);
+
+                for (int i = fires.size - 1; i >= 0; i--) {
+                    if (fires.expiries[i] > now) {
+                        earliest = Math.min(earliest, fires.expiries[i]);
+                    } else if (!loaded) {
+                        continue; // Parked until the chunk loads again
+                    } else if (!owned || due.size() >= batch) {
+                        earliest = Math.min(earliest, fires.expiries[i]);
+                        if (!owned) {
+                            foreignChunk = chunk;
+                        }
+                    } else {
+                        due.add(new int[]{cx, cz, fires.positions[i]});
+                        fires.removeAt(i);
+                        section.count--;
+                    }
+                }
+                if (fires.size == 0) {
+                    it.remove();
+                }
+            }
+            section.earliestExpiry = earliest;
+        }
+
+        // Block changes happen outside the monitor, within the time budget
+        int minY = world.getMinHeight();
+        int extinguished = 0;
+        for (int i = 0; i < due.size(); i++) {
+            if (System.nanoTime() - start > budget) {
+                // Out of time - put the rest back for the next sweep
+                requeue(section, due.subList(i, due.size()), now);
+                break;
+            }
+            int[] pos = due.get(i);
+            Block block = world.getBlockAt((pos[0] << 4) | (pos[2] & 0xF), (pos[2] >>> 8) + minY,
+                    (pos[1] << 4) | ((pos[2] >>> 4) & 0xF));
+            Material type = block.getType();
+            if (type == Material.FIRE || type == Material.SOUL_FIRE) {
+                block.setType(Material.AIR, false);
+                extinguished++;
+            }
+        }
+
+        // Cleared only now, so the dispatcher cannot drop the section mid-sweep
+        synchronized (section) {
+            section.sweepScheduled = foreignChunk != Long.MIN_VALUE;
+        }
+        if (foreignChunk != Long.MIN_VALUE) {
+            // Section straddles a region border - sweep the rest on the other region
+            scheduleSweep(world, section, foreignChunk);
+        }
+
+        if (extinguished > 0) {
+            plugin.getLogger().log(Level.FINE, "Extinguished {0} tracked fire blocks", extinguished);
+        }
+    }
+
+    private void requeue(SectionFires section, List<int[]> rest, long now) {
+        synchronized (section) {
+            for (int[] pos : rest) {
+                ChunkFires fires = section.chunks.computeIfAbsent(chunkKey(pos[0], pos[1]), k -> new ChunkFires());
+                fires.add(pos[2], fires.frozen ? 0L : now);
+                section.count++;
+            }
+            section.earliestExpiry = Math.min(section.earliestExpiry, now);
+        }
+    }
+
+    /**
+     * Stops the sweep dispatcher and forgets all tracked fire.
+     */
+    public synchronized void close() {
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        sections.clear();
+    }
+
+    private static SectionKey sectionKey(World world, int chunkX, int chunkZ) {
+        return new SectionKey(world.getUID(), RegionGrid.section(chunkX), RegionGrid.section(chunkZ));
+    }
+
+    private static SectionKey sectionKey(Block block) {
+        return new SectionKey(block.getWorld().getUID(), RegionGrid.sectionOfBlock(block.getX()),
+                RegionGrid.sectionOfBlock(block.getZ()));
+    }
+
+    private static long chunkKey(Block block) {
+        return chunkKey(block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+
+    private static int chunkX(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    private static int chunkZ(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    private static int pack(Block block) {
+        int y = block.getY() - block.getWorld().getMinHeight();
+        return (y << 8) | ((block.getZ() & 0xF) << 4) | (block.getX() & 0xF);
+    }
+}
@@ -0,0 +1,252 @@
+package org.rafalohaki.fireballs.homing;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.LargeFireball;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Vector;
+import org.rafalohaki.fireballs.RegionGrid;
+import org.rafalohaki.fireballs.api.FireballProfile;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Target acquisition and steering for homing fireball profiles.
+ *
+ * Players are indexed per {@link RegionGrid} section in a {@link PlayerGrid}.
+ * The first homing fireball that steers in a section on a given tick rebuilds
+ * the grid from the region's players; every other homing fireball in that
+ * section reuses it. Per-tick cost is one pass over the region's players per
+ * active section plus a few cell probes per fireball, instead of one
+ * getNearbyEntities() query per fireball.
+ *
+ * The number of homing fireballs per section is capped (homing.max-per-region);
+ * fireballs over the cap simply fly straight.
+ *
+ * FOLIA THREAD SAFETY:
+ * - Section states live in a ConcurrentHashMap; index rebuild and lookups are
+ *   guarded by the state's monitor
+ * - An index is only reused if its anchor chunk is owned by the current region,
+ *   so a section straddling a region border never hands out foreign players
+ */
+public final class HomingTargets {
+
+    // Idle section states are dropped after this long
+    private static final long IDLE_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long PRUNE_INTERVAL_TICKS = 200L;
+
+    private record SectionKey(UUID world, int x, int z) {
+    }
+
+    private static final class SectionState {
+        final PlayerGrid<Player> grid = new PlayerGrid<>();
+        int active;
+        long builtTick = Long.MIN_VALUE;
+        int anchorChunkX;
+        int anchorChunkZ;
+        volatile long lastUsedNanos = System.nanoTime();
+    }
+
+    /**
+     * One homing slot in a section's cap. Released exactly once when the
+     * fireball's steering ends.
+     */
+    public final class Slot {
+        private final SectionKey key;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Slot(SectionKey key) {
+            this.key = key;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                sections.computeIfPresent(key, (k, state) -> {
+                    state.active--;
+                    return state;
+                });
+            }
+        }
+    }
+
+    private final Plugin plugin;
+    private final ConcurrentHashMap<SectionKey, SectionState> sections = new ConcurrentHashMap<>();
+
+    private volatile int maxPerRegion;
+    // Largest homing range of all loaded profiles - bounds the indexed area around a section
+    private volatile double maxRange;
+    private ScheduledTask pruneTask;
+
+    public HomingTargets(Plugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Loads the "homing" config section.
+     */
+    public void reload() {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("homing");
+        if (section == null) {
+            section = plugin.getConfig().createSection("homing");
+        }
+        this.maxPerRegion = Math.max(0, section.getInt("max-per-region", 64));
+    }
+
+    /**
+     * Sets the largest homing range of the loaded profiles. Called on profile (re)load.
+     */
+    public void setMaxRange(double maxRange) {
+        this.maxRange = maxRange;
+    }
+
+    /**
+     * Starts the task dropping idle section states.
+     */
+    public void start() {
+        pruneTask = plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, task -> prune(),
+                PRUNE_INTERVAL_TICKS, PRUNE_INTERVAL_TICKS);
+    }
+
+    /**
+     * Reserves a homing slot in the fireball's section.
+     * Must run on the fireball's region thread.
+     *
+     * @return the slot, or null if the section is at its cap
+     */
+    public Slot tryAcquire(LargeFireball fb) {
+        SectionKey key = sectionKey(fb.getWorld(), fb.getLocation().getBlockX() >> 4,
+                fb.getLocation().getBlockZ() >> 4);
+        boolean[] acquired = {false};
+        int cap = maxPerRegion;
+        // compute() keeps acquisition atomic with pruning
+        sections.compute(key, (k, state) -> {
+            SectionState current = state != null ? state : new SectionState();
+            if (current.active < cap) {
+                current.active++;
+                acquired[0] = true;
+            }
+            current.lastUsedNanos = System.nanoTime();
+            return current;
+        });
+        return acquired[0] ? new Slot(key) : null;
+    }
+
+    /**
+     * Turns the fireball toward the nearest valid target by at most the
+     * profile's turn rate, keeping its speed. Must run on the fireball's region thread.
+     */
+    public void steer(LargeFireball fb, FireballProfile profile, Predicate<Player> valid) {
+        Vector velocity = fb.getVelocity();
+        double speed = velocity.length();
+        if (speed < 1.0E-4) {
+            return;
+        }
+
+        Location loc = fb.getLocation();
+        Player target = findTarget(loc, profile.homingRange(), valid);
+        if (target == null) {
+            return;
+        }
+
+        Location targetLoc = target.getLocation();
+        Vector desired = new Vector(targetLoc.getX() - loc.getX(),
+                targetLoc.getY() + target.getHeight() * 0.5 - loc.getY(),
+                targetLoc.getZ() - loc.getZ());
+        if (desired.lengthSquared() < 1.0E-6) {
+            return;
+        }
+        desired.normalize();
+
+        Vector dir = velocity.multiply(1.0 / speed);
+        double cos = Math.max(-1.0, Math.min(1.0, dir.dot(desired)));
+        double turn = profile.homingTurnRate();
+        if (Math.acos(cos) > turn) {
+            // Rotate toward the target within the plane spanned by both directions
+            Vector ortho = desired.clone().subtract(dir.clone().multiply(cos));
+            if (ortho.lengthSquared() < 1.0E-9) {
+                return; // Target exactly behind - no defined turn plane
+            }
+            ortho.normalize();
+            desired = dir.multiply(Math.cos(turn)).add(ortho.multiply(Math.sin(turn)));
+        }
+        fb.setVelocity(desired.multiply(speed));
+    }
+
+    private Player findTarget(Location loc, double range, Predicate<Player> valid) {
+        World world = loc.getWorld();
+        int chunkX = loc.getBlockX() >> 4;
+        int chunkZ = loc.getBlockZ() >> 4;
+        SectionKey key = sectionKey(world, chunkX, chunkZ);
+        SectionState state = sections.computeIfAbsent(key, k -> new SectionState());
+        long tick = world.getGameTime();
+
+        synchronized (state) {
+            if (state.builtTick != tick
+                    || !Bukkit.isOwnedByCurrentRegion(world, state.anchorChunkX, state.anchorChunkZ)) {
+                rebuild(state, key, world, tick, chunkX, chunkZ);
+            }
+            state.lastUsedNanos = System.nanoTime();
+            return state.grid.nearest(loc.getX(), loc.getY(), loc.getZ(), range, valid);
+        }
+    }
+
+    /**
+     * Snapshots the region's players around the section. Caller holds the state's monitor.
+     */
+    private void rebuild(SectionState state, SectionKey key, World world, long tick, int chunkX, int chunkZ) {
+        int blockShift = RegionGrid.shift() + 4;
+        double margin = maxRange;
+        double minX = (double) (key.x() << blockShift) - margin;
+        double minZ = (double) (key.z() << blockShift) - margin;
+        double maxX = minX + (1 << blockShift) + 2 * margin;
+        double maxZ = minZ + (1 << blockShift) + 2 * margin;
+
+        state.grid.clear();
+        // Folia: World#getPlayers() only returns players of the current region
+        for (Player player : world.getPlayers()) {
+            if (!Bukkit.isOwnedByCurrentRegion(player)) {
+                continue;
+            }
+            Location pl = player.getLocation();
+            if (pl.getX() < minX || pl.getX() > maxX || pl.getZ() < minZ || pl.getZ() > maxZ) {
+                continue;
+            }
+            state.grid.add(player, pl.getX(), pl.getY() + player.getHeight() * 0.5, pl.getZ());
+        }
+        state.builtTick = tick;
+        state.anchorChunkX = chunkX;
+        state.anchorChunkZ = chunkZ;
+    }
+
+    private void prune() {
+        long now = System.nanoTime();
+        for (SectionKey key : sections.keySet()) {
+            sections.computeIfPresent(key, (k, state) ->
+                    state.active <= 0 && now - state.lastUsedNanos > IDLE_NANOS ? null : state);
+        }
+    }
+
+    /**
+     * Stops pruning and forgets all section states.
+     */
+    public void close() {
+        if (pruneTask != null) {
+            pruneTask.cancel();
+            pruneTask = null;
+        }
+        sections.clear();
+    }
+
+    private static SectionKey sectionKey(World world, int chunkX, int chunkZ) {
+        return new SectionKey(world.getUID(), RegionGrid.section(chunkX), RegionGrid.section(chunkZ));
+    }
+}
@@ -0,0 +1,180 @@
+package org.rafalohaki.fireballs.homing;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Uniform grid of player positions snapshotted once per tick.
+ * Cells are two chunks wide (32 blocks) in x/z, so a typical homing range
+ * probes 3x3 cells; y is not bucketed since players spread horizontally far
+ * more than vertically.
+ *
+ * Entries live in flat arrays chained per cell, and cells in an
+ * open-addressing table keyed by the packed cell coordinates, so a rebuild
+ * and a lookup allocate nothing once the arrays have grown. Generic in the
+ * stored player type so it has no Bukkit dependencies and can be tested and
+ * benchmarked without a server.
+ *
+ * Not thread-safe - owned by one {@link HomingTargets} section state and
+ * only used under its monitor.
+ */
+final class PlayerGrid<T> {
+
+    private static final int CELL_SHIFT = 5;
+    private static final int NO_ENTRY = -1;
+
+    // Entries: position, player and the next entry of the same cell
+    private double[] xs = new double[16];
+    private double[] ys = new double[16];
+    private double[] zs = new double[16];
+    private Object[] players = new Object[16];
+    private int[] next = new int[16];
+    private int size;
+
+    // Cells: power of two table, slot is free while heads[slot] == NO_ENTRY
+    private long[] cellKeys = new long[16];
+    private int[] heads = newHeads(16);
+    private int cellCount;
+
+    // Running best of the query in progress
+    private double bestSquared;
+    private int best;
+
+    void clear() {
+        // Drop player references so quitting players are not retained
+        Arrays.fill(players, 0, size, null);
+        if (cellCount > 0) {
+            Arrays.fill(heads, NO_ENTRY);
+        }
+        size = 0;
+        cellCount = 0;
+    }
+
+    void add(T player, double x, double y, double z) {
+        if (size == xs.length) {
+            growEntries();
+        }
+        if ((cellCount + 1) * 2 > heads.length) {
+            growCells();
+        }
+        long key = cellKey((int) Math.floor(x) >> CELL_SHIFT, (int) Math.floor(z) >> CELL_SHIFT);
+        int slot = slot(key);
+        if (heads[slot] == NO_ENTRY) {
+            cellKeys[slot] = key;
+            cellCount++;
+        }
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        players[size] = player;
+        next[size] = heads[slot];
+        heads[slot] = size;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Finds the nearest player accepted by the filter.
+     *
+     * @return the player, or null if none is within range
+     */
+    @SuppressWarnings("unchecked")
+    T nearest(double x, double y, double z, double range, Predicate<? super T> valid) {
+        if (size == 0) {
+            return null;
+        }
+        int minCx = (int) Math.floor(x - range) >> CELL_SHIFT;
+        int maxCx = (int) Math.floor(x + range) >> CELL_SHIFT;
+        int minCz = (int) Math.floor(z - range) >> CELL_SHIFT;
+        int maxCz = (int) Math.floor(z + range) >> CELL_SHIFT;
+
+        bestSquared = range * range;
+        best = NO_ENTRY;
+        long cellsInRange = (long) (maxCx - minCx + 1) * (maxCz - minCz + 1);
+        if (cellsInRange > cellCount) {
+            // Sparse grid - walking the occupied cells is cheaper than probing empty ones,
+            // but only cells inside the range are scanned
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] == NO_ENTRY) {
+                    continue;
+                }
+                int cx = (int) cellKeys[i];
+                int cz = (int) (cellKeys[i] >> 32);
+                if (cx >= minCx && cx <= maxCx && cz >= minCz && cz <= maxCz) {
+                    scan(heads[i], x, y, z, valid);
+                }
+            }
+        } else {
+            for (int cx = minCx; cx <= maxCx; cx++) {
+                for (int cz = minCz; cz <= maxCz; cz++) {
+                    scan(heads[slot(cellKey(cx, cz))], x, y, z, valid);
+                }
+            }
+        }
+        return best == NO_ENTRY ? null : (T) players[best];
+    }
+
+    // Walks one cell's chain, updating the running best of the current query
+    @SuppressWarnings("unchecked")
+    private void scan(int entry, double x, double y, double z, Predicate<? super T> valid) {
+        for (; entry != NO_ENTRY; entry = next[entry]) {
+            double dx = xs[entry] - x;
+            double dy = ys[entry] - y;
+            double dz = zs[entry] - z;
+            double d = dx * dx + dy * dy + dz * dz;
+            if (d <= bestSquared && valid.test((T) players[entry])) {
+                bestSquared = d;
+                best = entry;
+            }
+        }
+    }
+
+    /**
+     * @return the slot holding the key, or the free slot it would go into
+     */
+    private int slot(long key) {
+        int mask = heads.length - 1;
+        long h = key * 0x9E3779B97F4A7C15L;
+        int slot = (int) (h ^ (h >>> 32)) & mask;
+        while (heads[slot] != NO_ENTRY && cellKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void growEntries() {
+        int capacity = xs.length * 2;
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        players = Arrays.copyOf(players, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+
+    private void growCells() {
+        long[] oldKeys = cellKeys;
+        int[] oldHeads = heads;
+        cellKeys = new long[oldKeys.length * 2];
+        heads = newHeads(oldHeads.length * 2);
+        for (int i = 0; i < oldHeads.length; i++) {
+            if (oldHeads[i] != NO_ENTRY) {
+                int slot = slot(oldKeys[i]);
+                cellKeys[slot] = oldKeys[i];
+                heads[slot] = oldHeads[i];
+            }
+        }
+    }
+
+    private static int[] newHeads(int capacity) {
+        int[] heads = new int[capacity];
+        Arrays.fill(heads, NO_ENTRY);
+        return heads;
+    }
+
+    private static long cellKey(int cx, int cz) {
+        return ((long) cz << 32) | (cx & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,116 @@
+package org.rafalohaki.fireballs.journal;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Optional low-overhead binary journal of fire/spawn/hit/explosion/death activity.
+ *
+ * Region threads append fixed-size records into their own buffer stripe of a
+ * {@link JournalWriter} (no allocation, no I/O, no lock shared with other
+ * regions). A background task on Paper's AsyncScheduler swaps the stripes and
+ * copies them into a memory-mapped file, rotating to a new file when the
+ * current one is full. See {@link JournalWriter} for the file format.
+ */
+public final class EventJournal {
+
+    private final Plugin plugin;
+    private final JournalWriter writer;
+    private final Path directory;
+    private final long flushIntervalMillis;
+
+    private ScheduledTask flushTask;
+
+    private EventJournal(Plugin plugin, JournalWriter writer, Path directory, long flushIntervalMillis) {
+        this.plugin = plugin;
+        this.writer = writer;
+        this.directory = directory;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    /**
+     * Creates a journal from the "journal" config section.
+     * Returns a disabled journal if the section is missing or disabled.
+     */
+    public static EventJournal fromConfig(Plugin plugin) {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("journal");
+        if (section == null || !section.getBoolean("enabled", false)) {
+            return new EventJournal(plugin, null, null, 0L);
+        }
+
+        Path directory = plugin.getDataFolder().toPath().resolve(section.getString("directory", "journal"));
+        int bufferBytes = Math.max(4, section.getInt("buffer-kb", 256)) * 1024;
+        long fileSize = Math.max(1L, section.getLong("file-size-mb", 16L)) * 1024L * 1024L;
+        int maxFiles = Math.max(1, section.getInt("max-files", 8));
+        long flushInterval = Math.max(10L, section.getLong("flush-interval-ms", 250L));
+        JournalWriter writer = new JournalWriter(directory, bufferBytes, fileSize, maxFiles, plugin.getLogger());
+        return new EventJournal(plugin, writer, directory, flushInterval);
+    }
+
+    public boolean isEnabled() {
+        return writer != null && writer.isOpen();
+    }
+
+    /**
+     * Starts the background flusher. No-op if the journal is disabled.
+     */
+    public void start() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.open();
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not open event journal, journaling disabled", e);
+            return;
+        }
+        flushTask = plugin.getServer().getAsyncScheduler().runAtFixedRate(plugin, task -> writer.flush(),
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        plugin.getLogger().log(Level.INFO, "Event journal enabled: {0}", directory);
+    }
+
+    /**
+     * Appends one record. Safe to call from any region thread.
+     * Never blocks on I/O - drops the record if the thread's buffer stripe is full.
+     *
+     * @param type    What happened
+     * @param loc     Where it happened
+     * @param subject Player involved, may be null
+     */
+    public void record(JournalEventType type, Location loc, UUID subject) {
+        if (!isEnabled()) {
+            return;
+        }
+        World world = loc.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        writer.append(type, world.getName().hashCode(), world.getGameTime(), System.currentTimeMillis(),
+                loc.getBlockX() >> 4, loc.getBlockZ() >> 4,
+                (float) loc.getX(), (float) loc.getY(), (float) loc.getZ(), subject);
+    }
+
+    /**
+     * Stops the flusher, drains every buffer stripe and releases the file.
+     * MUST be called in onDisable().
+     */
+    public void close() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.rafalohaki.fireballs.journal;
+
+/**
+ * Kinds of activity captured by the event journal.
+ * Ids are written to disk - never reorder or reuse them.
+ * Id 0 is reserved as the end-of-data marker of a preallocated journal file.
+ */
+public enum JournalEventType {
+    FIRE_ATTEMPT(1),
+    SPAWN(2),
+    HIT(3),
+    EXPLOSION(4),
+    DEATH(5);
+
+    private static final JournalEventType[] BY_ID = new JournalEventType[6];
+
+    static {
+        for (JournalEventType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final byte id;
+
+    JournalEventType(int id) {
+        this.id = (byte) id;
+    }
+
+    public byte id() {
+        return id;
+    }
+
+    /**
+     * @return the type for the given id, or null if unknown
+     */
+    public static JournalEventType byId(int id) {
+        if (id <= 0 || id >= BY_ID.length) {
+            return null;
+        }
+        return BY_ID[id];
+    }
+}
@@ -0,0 +1,110 @@
+package org.rafalohaki.fireballs.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Decodes journal files written by {@link JournalWriter}.
+ * Has no Bukkit dependencies - usable from the offline replay runner.
+ */
+public final class JournalReader {
+
+    private JournalReader() {
+    }
+
+    /**
+     * Lists journal files in the directory, oldest first.
+     */
+    public static List<Path> listFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(JournalWriter.FILE_PREFIX) && name.endsWith(JournalWriter.FILE_SUFFIX);
+            }).sorted().forEach(files::add);
+        }
+        return files;
+    }
+
+    /**
+     * Reads every record of every journal file in the directory, in write order.
+     *
+     * @return number of records read
+     */
+    public static long readAll(Path directory, Consumer<JournalRecord> consumer) throws IOException {
+        long count = 0;
+        for (Path file : listFiles(directory)) {
+            count += read(file, consumer);
+        }
+        return count;
+    }
+
+    /**
+     * Reads all records of a single journal file.
+     * Stops at the first zero type byte (unwritten tail of a preallocated file).
+     *
+     * @return number of records read
+     */
+    public static long read(Path file, Consumer<JournalRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buf.order(ByteOrder.LITTLE_ENDIAN);
+            if (buf.remaining() < JournalWriter.HEADER_SIZE || buf.getInt() != JournalWriter.MAGIC) {
+                throw new IOException("Not a fireball journal: " + file);
+            }
+            int version = buf.getInt();
+            int recordSize = buf.getInt();
+            if (version != JournalWriter.VERSION || recordSize != JournalWriter.RECORD_SIZE) {
+                throw new IOException("Unsupported journal version " + version + " in " + file);
+            }
+            buf.position(JournalWriter.HEADER_SIZE);
+
+            long count = 0;
+            while (buf.remaining() >= recordSize) {
+                JournalRecord journalRecord = decode(buf);
+                if (journalRecord == null) {
+                    break;
+                }
+                consumer.accept(journalRecord);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static JournalRecord decode(ByteBuffer buf) {
+        int start = buf.position();
+        JournalEventType type = JournalEventType.byId(buf.get());
+        if (type == null) {
+            return null;
+        }
+        buf.position(start + 4);
+        int worldKey = buf.getInt();
+        long tick = buf.getLong();
+        long timeMillis = buf.getLong();
+        int chunkX = buf.getInt();
+        int chunkZ = buf.getInt();
+        float x = buf.getFloat();
+        float y = buf.getFloat();
+        float z = buf.getFloat();
+        long msb = buf.getLong();
+        long lsb = buf.getLong();
+        buf.position(start + JournalWriter.RECORD_SIZE);
+        UUID subject = (msb == 0L && lsb == 0L) ? null : new UUID(msb, lsb);
+        return new JournalRecord(type, worldKey, tick, timeMillis, chunkX, chunkZ, x, y, z, subject);
+    }
+}
@@ -0,0 +1,21 @@
+package org.rafalohaki.fireballs.journal;
+
+import java.util.UUID;
+
+/**
+ * A single decoded journal entry.
+ *
+ * @param type       What happened
+ * @param worldKey   Hash of the world name
+ * @param tick       World game time when the event happened
+ * @param timeMillis Wall-clock time when the event happened
+ * @param chunkX     Chunk X - identifies the region the event ran on
+ * @param chunkZ     Chunk Z - identifies the region the event ran on
+ * @param x          Event X coordinate
+ * @param y          Event Y coordinate
+ * @param z          Event Z coordinate
+ * @param subject    Player involved (shooter, or victim for deaths), may be null
+ */
+public record JournalRecord(JournalEventType type, int worldKey, long tick, long timeMillis,
+                            int chunkX, int chunkZ, float x, float y, float z, UUID subject) {
+}
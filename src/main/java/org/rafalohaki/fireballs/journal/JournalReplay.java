@@ -0,0 +1,141 @@
+package org.rafalohaki.fireballs.journal;
+
+import org.rafalohaki.fireballs.RegionGrid;
+import org.rafalohaki.fireballs.listener.CooldownTracker;
+import org.rafalohaki.fireballs.listener.ExplosionSources;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Offline replay runner for event journals.
+ *
+ * Feeds recorded production traffic through the same cooldown and kill
+ * attribution logic the listener uses ({@link CooldownTracker},
+ * {@link ExplosionSources}) without a server, and reports how long that logic
+ * took plus the busiest ticks/regions in the recording.
+ *
+ * Usage (the plugin jar needs nothing else on the classpath):
+ * <pre>
+ * java -cp Fireballs.jar org.rafalohaki.fireballs.journal.JournalReplay &lt;journal-dir&gt; [cooldown-seconds] [explosion-power] [region-grid-exponent]
+ * </pre>
+ */
+public final class JournalReplay {
+
+    // Mirrors the listener: explosion sources are forgotten 5 ticks after the hit
+    private static final long SOURCE_TTL_TICKS = 5L;
+    private static final int TOP_TICKS = 10;
+
+    private final long cooldownMillis;
+    private final int searchRadius;
+    private final CooldownTracker cooldowns = new CooldownTracker();
+    private final ExplosionSources explosionSources = new ExplosionSources();
+    private final ArrayDeque<long[]> pendingRemovals = new ArrayDeque<>();
+
+    private final EnumMap<JournalEventType, Long> counts = new EnumMap<>(JournalEventType.class);
+    // "tick @ region" -> number of events, for spike detection
+    private final Map<String, Integer> eventsPerTickRegion = new HashMap<>();
+    private long acceptedFires;
+    private long attributedDeaths;
+    private long logicNanos;
+
+    public JournalReplay(long cooldownMillis, float explosionPower) {
+        this.cooldownMillis = cooldownMillis;
+        this.searchRadius = (int) Math.ceil(explosionPower) + 1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JournalReplay <journal-dir> [cooldown-seconds] [explosion-power]"
+                    + " [region-grid-exponent]");
+            System.exit(1);
+            return;
+        }
+        long cooldownMillis = (args.length > 1 ? Long.parseLong(args[1]) : 3L) * 1000L;
+        float explosionPower = args.length > 2 ? Float.parseFloat(args[2]) : 4.0f;
+        RegionGrid.configure(args.length > 3 ? Integer.parseInt(args[3]) : RegionGrid.DEFAULT_SHIFT);
+
+        JournalReplay replay = new JournalReplay(cooldownMillis, explosionPower);
+        long records = JournalReader.readAll(Path.of(args[0]), replay::accept);
+        replay.printReport(records);
+    }
+
+    /**
+     * Replays one record through the listener logic.
+     */
+    public void accept(JournalRecord journalRecord) {
+        counts.merge(journalRecord.type(), 1L, Long::sum);
+        eventsPerTickRegion.merge(journalRecord.tick() + " @ region " + RegionGrid.section(journalRecord.chunkX())
+                + "," + RegionGrid.section(journalRecord.chunkZ()), 1, Integer::sum);
+
+        long start = System.nanoTime();
+        expireSources(journalRecord.tick());
+        int bx = (int) Math.floor(journalRecord.x());
+        int by = (int) Math.floor(journalRecord.y());
+        int bz = (int) Math.floor(journalRecord.z());
+        UUID subject = journalRecord.subject();
+
+        switch (journalRecord.type()) {
+            case FIRE_ATTEMPT -> {
+                if (subject != null && cooldowns.tryAcquire(subject, journalRecord.timeMillis(), cooldownMillis) == 0L) {
+                    acceptedFires++;
+                }
+            }
+            case HIT -> {
+                if (subject != null) {
+                    long key = ExplosionSources.key(bx, by, bz);
+                    explosionSources.put(key, subject);
+                    pendingRemovals.addLast(new long[]{journalRecord.tick() + SOURCE_TTL_TICKS, key});
+                }
+            }
+            case DEATH -> {
+                if (explosionSources.find(bx, by, bz, searchRadius) != null) {
+                    attributedDeaths++;
+                }
+            }
+            default -> {
+                // SPAWN and EXPLOSION are only counted
+            }
+        }
+        logicNanos += System.nanoTime() - start;
+    }
+
+    public long acceptedFires() {
+        return acceptedFires;
+    }
+
+    public long attributedDeaths() {
+        return attributedDeaths;
+    }
+
+    private void expireSources(long tick) {
+        while (!pendingRemovals.isEmpty() && pendingRemovals.peekFirst()[0] <= tick) {
+            explosionSources.remove(pendingRemovals.pollFirst()[1]);
+        }
+    }
+
+    private void printReport(long records) {
+        System.out.println("Records replayed: " + records);
+        for (JournalEventType type : JournalEventType.values()) {
+            System.out.println("  " + type + ": " + counts.getOrDefault(type, 0L));
+        }
+
+        long recordedSpawns = counts.getOrDefault(JournalEventType.SPAWN, 0L);
+        System.out.println("Fire attempts accepted by replayed cooldown: " + acceptedFires
+                + " (recorded spawns: " + recordedSpawns + ")");
+        System.out.println("Deaths attributed to a shooter: " + attributedDeaths);
+        System.out.printf("Listener logic time: %.3f ms (%.1f ns/record)%n",
+                logicNanos / 1_000_000.0, records == 0 ? 0.0 : (double) logicNanos / records);
+
+        System.out.println("Busiest ticks:");
+        eventsPerTickRegion.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(TOP_TICKS)
+                .forEach(e -> System.out.println("  tick " + e.getKey() + ": " + e.getValue() + " events"));
+    }
+}
@@ -0,0 +1,264 @@
+package org.rafalohaki.fireballs.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Buffers journal records and writes them into rotating memory-mapped files.
+ * Has no Bukkit dependencies - {@link EventJournal} adapts it to the server
+ * and tests drive it directly.
+ *
+ * Records go into striped double buffers. Every writing thread is assigned its
+ * own stripe round-robin on first use, so region threads normally never share
+ * a lock; the flusher only takes a stripe's lock for the pointer swap.
+ * If a stripe fills up between flushes, records are dropped and counted
+ * instead of blocking the writer.
+ *
+ * FILE FORMAT (little endian):
+ * - 64 byte header: magic, version, record size, creation time
+ * - 64 byte records; a zero type byte marks end of data
+ */
+public final class JournalWriter {
+
+    public static final int MAGIC = 0x46424A31; // "FBJ1"
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 64;
+    public static final String FILE_PREFIX = "journal-";
+    public static final String FILE_SUFFIX = ".fbj";
+
+    // Smallest useful stripe - a burst of records from one region thread
+    private static final int MIN_STRIPE_RECORDS = 64;
+
+    /**
+     * Double buffer owned by one or more writer threads. Guarded by its own monitor.
+     */
+    private static final class Stripe {
+        ByteBuffer active;
+        ByteBuffer spare;
+
+        Stripe(int bytes) {
+            this.active = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            this.spare = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    private final Path directory;
+    private final long fileSize;
+    private final int maxFiles;
+    private final Logger logger;
+
+    private final Stripe[] stripes;
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final ThreadLocal<Stripe> localStripe;
+
+    // Guards the mapped file - flusher and close() may race
+    private final Object ioLock = new Object();
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private int fileIndex;
+
+    private final AtomicLong dropped = new AtomicLong();
+    // Checked inside the stripe lock, so close() cannot miss an in-flight record
+    private volatile boolean open;
+
+    /**
+     * @param directory   Directory for journal files
+     * @param bufferBytes Total buffer size, split across stripes
+     * @param fileSize    Data bytes per journal file before rotating
+     * @param maxFiles    Number of newest files kept
+     * @param logger      Logger for write failures and dropped records
+     */
+    public JournalWriter(Path directory, int bufferBytes, long fileSize, int maxFiles, Logger logger) {
+        this.directory = directory;
+        this.fileSize = fileSize;
+        this.maxFiles = maxFiles;
+        this.logger = logger;
+
+        // One stripe per core is enough for one stripe per region thread
+        int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+        int stripeBytes = Math.max(MIN_STRIPE_RECORDS * RECORD_SIZE, bufferBytes / count);
+        stripeBytes -= stripeBytes % RECORD_SIZE;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(stripeBytes);
+        }
+        this.localStripe = ThreadLocal.withInitial(() -> stripes[nextStripe.getAndIncrement() & (count - 1)]);
+    }
+
+    /**
+     * Opens the next journal file after the newest existing one.
+     */
+    public void open() throws IOException {
+        synchronized (ioLock) {
+            Files.createDirectories(directory);
+            fileIndex = highestExistingIndex();
+            openNextFile();
+            open = true;
+        }
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Appends one record. Safe to call from any thread; never blocks on I/O.
+     *
+     * @return false if the record was dropped (stripe full or writer closed)
+     */
+    public boolean append(JournalEventType type, int worldKey, long tick, long timeMillis, int chunkX, int chunkZ,
+                          float x, float y, float z, UUID subject) {
+        long msb = subject != null ? subject.getMostSignificantBits() : 0L;
+        long lsb = subject != null ? subject.getLeastSignificantBits() : 0L;
+
+        Stripe stripe = localStripe.get();
+        synchronized (stripe) {
+            ByteBuffer buf = stripe.active;
+            if (!open || buf.remaining() < RECORD_SIZE) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            buf.put(type.id()).put((byte) 0).putShort((short) 0)
+                    .putInt(worldKey)
+                    .putLong(tick)
+                    .putLong(timeMillis)
+                    .putInt(chunkX)
+                    .putInt(chunkZ)
+                    .putFloat(x)
+                    .putFloat(y)
+                    .putFloat(z)
+                    .putLong(msb)
+                    .putLong(lsb)
+                    .putInt(0);
+            return true;
+        }
+    }
+
+    /**
+     * Swaps every stripe and copies pending records into the mapped file.
+     * Call from a background thread - never from a region thread.
+     */
+    public void flush() {
+        synchronized (ioLock) {
+            if (mapped == null) {
+                return;
+            }
+
+            try {
+                for (Stripe stripe : stripes) {
+                    ByteBuffer pending;
+                    synchronized (stripe) {
+                        pending = stripe.active;
+                        stripe.active = stripe.spare;
+                        stripe.spare = pending;
+                    }
+                    write(pending);
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Event journal write failed, journaling disabled", e);
+                open = false;
+                closeFile();
+            }
+
+            long lost = dropped.getAndSet(0L);
+            if (lost > 0) {
+                logger.log(Level.WARNING, "Event journal buffer full or closed, dropped {0} records", lost);
+            }
+        }
+    }
+
+    // Caller holds ioLock; the buffer is no longer visible to writers
+    private void write(ByteBuffer pending) throws IOException {
+        pending.flip();
+        try {
+            while (pending.hasRemaining()) {
+                if (mapped.remaining() < RECORD_SIZE) {
+                    openNextFile();
+                }
+                int chunk = Math.min(pending.remaining(), mapped.remaining() - mapped.remaining() % RECORD_SIZE);
+                mapped.put(pending.slice(pending.position(), chunk));
+                pending.position(pending.position() + chunk);
+            }
+        } finally {
+            pending.clear();
+        }
+    }
+
+    /**
+     * Stops accepting records, drains every stripe into the file and releases it.
+     * Records appended concurrently with close() are either written or counted as dropped.
+     */
+    public void close() {
+        if (!open) {
+            return;
+        }
+        open = false;
+        // Each stripe lock is taken once more inside flush(), so any append that
+        // saw open == true has finished before its stripe is drained
+        flush();
+        synchronized (ioLock) {
+            closeFile();
+        }
+    }
+
+    private void openNextFile() throws IOException {
+        closeFile();
+        fileIndex++;
+        Path file = directory.resolve(fileName(fileIndex));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + fileSize - fileSize % RECORD_SIZE);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        mapped.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putLong(System.currentTimeMillis());
+        mapped.position(HEADER_SIZE);
+        deleteOldFiles();
+    }
+
+    private void closeFile() {
+        if (mapped != null) {
+            mapped.force();
+            mapped = null;
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Failed to close journal file", e);
+            }
+            channel = null;
+        }
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = JournalReader.listFiles(directory);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private int highestExistingIndex() throws IOException {
+        List<Path> files = JournalReader.listFiles(directory);
+        if (files.isEmpty()) {
+            return 0;
+        }
+        String name = files.get(files.size() - 1).getFileName().toString();
+        return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+    }
+
+    static String fileName(int index) {
+        return String.format("%s%08d%s", FILE_PREFIX, index, FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,85 @@
+package org.rafalohaki.fireballs.listener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player fire cooldown bookkeeping.
+ * Has no Bukkit dependencies so the same decision logic can be driven
+ * headlessly by the journal replay runner.
+ *
+ * FOLIA THREAD SAFETY:
+ * - ConcurrentHashMap.compute() makes check-and-set atomic across region threads
+ */
+public final class CooldownTracker {
+
+    // Stores UUID -> timestamp of last use
+    private final ConcurrentHashMap<UUID, Long> lastUse = new ConcurrentHashMap<>();
+
+    /**
+     * Attempts to acquire the cooldown for a player.
+     *
+     * @param playerId       The player attempting to fire
+     * @param currentTime    Current wall-clock time in milliseconds
+     * @param cooldownMillis Cooldown length in milliseconds
+     * @return 0 if the cooldown was acquired, otherwise milliseconds left
+     */
+    public long tryAcquire(UUID playerId, long currentTime, long cooldownMillis) {
+        if (cooldownMillis <= 0) {
+            return 0L; // No cooldown configured
+        }
+
+        long[] timeLeftRef = {0L};
+        // Atomic check-and-set using compute()
+        // This prevents race conditions between get() and put()
+        lastUse.compute(playerId, (uuid, last) -> {
+            if (last == null || (currentTime - last) >= cooldownMillis) {
+                return currentTime; // Update timestamp
+            }
+            timeLeftRef[0] = cooldownMillis - (currentTime - last);
+            return last;
+        });
+        return timeLeftRef[0];
+    }
+
+    /**
+     * Applies a cooldown acquired on another node.
+     * Keeps whichever use is more recent, so late or duplicate frames are harmless.
+     */
+    public void applyRemote(UUID playerId, long useTime) {
+        lastUse.merge(playerId, useTime, Math::max);
+    }
+
+    public void remove(UUID playerId) {
+        lastUse.remove(playerId);
+    }
+
+    public int size() {
+        return lastUse.size();
+    }
+
+    public void clear() {
+        lastUse.clear();
+    }
+
+    /**
+     * Removes entries older than the cooldown.
+     * ConcurrentHashMap iterator is weakly consistent and thread-safe.
+     *
+     * @return number of removed entries
+     */
+    public int removeExpired(long currentTime, long cooldownMillis) {
+        int removed = 0;
+        Iterator<Map.Entry<UUID, Long>> iterator = lastUse.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Long> entry = iterator.next();
+            if (currentTime - entry.getValue() > cooldownMillis) {
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
@@ -2,11 +2,13 @@ package org.rafalohaki.fireballs.listener;
 
 import org.bukkit.block.Block;
 import org.bukkit.Location;
+import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.LargeFireball;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -22,26 +24,26 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.projectiles.ProjectileSource;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.util.Vector;
 import org.rafalohaki.fireballs.Keys;
+import org.rafalohaki.fireballs.api.FireballProfile;
+import org.rafalohaki.fireballs.collision.SweptCollider;
+import org.rafalohaki.fireballs.homing.HomingTargets;
+import org.rafalohaki.fireballs.journal.EventJournal;
+import org.rafalohaki.fireballs.journal.JournalEventType;
+import org.rafalohaki.fireballs.sync.ClusterSync;
+import org.rafalohaki.fireballs.team.TeamRegistry;
+import org.rafalohaki.fireballs.visibility.FireballVisibility;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.event.entity.ItemSpawnEvent;
-import org.bukkit.event.inventory.CraftItemEvent;
-import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.event.inventory.InventoryOpenEvent;
-import org.bukkit.event.player.PlayerJoinEvent;
-import org.bukkit.event.entity.PlayerDeathEvent;
-import org.bukkit.event.entity.EntityDamageEvent;
-import org.bukkit.entity.Item;
-import org.bukkit.inventory.Inventory;
-import net.kyori.adventure.text.format.TextDecoration;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 /**
@@ -62,9 +64,29 @@ public class CustomFireballListener implements Listener {
     private final Plugin plugin;
     private final Keys keys;
 
+    // Optional binary journal of fire/hit/death activity (no-op when disabled)
+    private final EventJournal journal;
+
+    // Cross-node replication of cooldowns and kill stats (no-op when disabled)
+    private final ClusterSync clusterSync;
+
+    // Per-player tracking culling for profiles with a tracking radius
+    private final FireballVisibility visibility;
+
+    // Team membership for friendly-fire filtering
+    private final TeamRegistry teams;
+
+    // Shared per-region player index and cap for homing profiles
+    private final HomingTargets homing;
+
+    // Marks our explosions for the damage and ignite handlers
+    private final ExplosionContext explosionContext;
+
     // Cooldown tracking - ConcurrentHashMap for thread safety on Folia
-    // Stores UUID -> timestamp of last use
-    private final ConcurrentHashMap<UUID, Long> cooldowns;
+    private final CooldownTracker cooldowns;
+
+    // Fireball kills per player, merged with kills replicated from other nodes
+    private final KillStats killStats;
     
     // Message cooldown to prevent spam (UUID -> last message timestamp)
     private final ConcurrentHashMap<UUID, Long> messageCooldowns;
@@ -72,8 +94,8 @@ public class CustomFireballListener implements Listener {
     // Minimum time between cooldown messages (ms) - prevents message spam/abuse
     private static final long MESSAGE_COOLDOWN_MS = 1000L;
 
-    // Initial velocity multiplier for the fireball
-    private static final double VELOCITY_MULTIPLIER = 1.5;
+    // Shooter is not a valid swept-collision target right after launch
+    private static final int SHOOTER_GRACE_TICKS = 5;
 
     // Spawn offset distance in front of player (blocks)
     private static final double SPAWN_OFFSET = 1.5;
@@ -81,44 +103,55 @@ public class CustomFireballListener implements Listener {
     // Cooldown time in milliseconds (cached from config)
     private volatile long cooldownMillis;
 
-    // Whether to rename Fire Charge items to custom name
-    private volatile boolean renameEnabled;
+    // Cached explosion and flight profiles (read once, not on every explosion)
+    // Immutable map, replaced as a whole on reload
+    private volatile Map<String, FireballProfile> profiles;
+    private volatile FireballProfile defaultProfile;
+
+    // Kill attribution search radius - covers the strongest loaded profile
+    private volatile int attributionSearchRadius;
 
-    // Custom name for Fire Charge items (parsed from MiniMessage)
-    // S3077 suppressed: Component is immutable, volatile ensures visibility of reference assignment
-    @SuppressWarnings("java:S3077")
-    private volatile Component customFireballName;
+    // Initial velocity multiplier for the fireball (cached from config)
+    private volatile double velocityMultiplier;
 
-    // Cached explosion config values (read once, not on every explosion)
-    private volatile float explosionPower;
-    private volatile boolean explosionSetFire;
-    private volatile boolean explosionBreakBlocks;
-    private volatile int maxFlightTicks;
+    // Swept collision - null when collision.mode is "vanilla"
+    private volatile SweptCollider sweptCollider;
+    private volatile double sweptMinSpeedSquared;
 
     // Cached NamespacedKeys for performance (avoid method call overhead)
     private NamespacedKey cachedFireballKey;
     private NamespacedKey cachedShooterUuidKey;
+    private NamespacedKey cachedProfileKey;
+    private NamespacedKey cachedExpiryTickKey;
 
-    // Kill message settings
+    // Kill messages consume explosion attribution (message itself lives in KillAttributionListener)
     private volatile boolean killMessageEnabled;
-    private volatile String killMessageFormat;
+
+    // Whether teammates are protected from each other's fireballs
+    private volatile boolean friendlyFireProtection;
     
     // Cache for tracking explosion source (Location hash -> shooter UUID)
     // Short-lived entries, cleaned up after explosion damage is processed
-    private final ConcurrentHashMap<Long, UUID> explosionSources;
-
-    // Default name if config parsing fails
-    private static final Component DEFAULT_FIREBALL_NAME = Component.text("Fireball", NamedTextColor.GOLD)
-            .decoration(TextDecoration.ITALIC, false);
+    private final ExplosionSources explosionSources;
 
-    public CustomFireballListener(Plugin plugin) {
+    public CustomFireballListener(Plugin plugin, EventJournal journal, ClusterSync clusterSync,
+                                  FireballVisibility visibility, TeamRegistry teams, HomingTargets homing) {
         this.plugin = plugin;
         this.keys = new Keys(plugin);
+        this.journal = journal;
+        this.clusterSync = clusterSync;
+        this.visibility = visibility;
+        this.teams = teams;
+        this.homing = homing;
+        this.explosionContext = new ExplosionContext();
+        this.killStats = new KillStats();
         this.cachedFireballKey = keys.customFireballKey();
         this.cachedShooterUuidKey = keys.shooterUuidKey();
-        this.cooldowns = new ConcurrentHashMap<>();
+        this.cachedProfileKey = keys.profileKey();
+        this.cachedExpiryTickKey = keys.expiryTickKey();
+        this.cooldowns = new CooldownTracker();
         this.messageCooldowns = new ConcurrentHashMap<>();
-        this.explosionSources = new ConcurrentHashMap<>();
+        this.explosionSources = new ExplosionSources();
         loadConfigValues();
     }
 
@@ -127,27 +160,90 @@ public class CustomFireballListener implements Listener {
      */
     private void loadConfigValues() {
         this.cooldownMillis = plugin.getConfig().getInt(COOLDOWN_SECONDS_CONFIG, 3) * 1000L;
-        this.renameEnabled = plugin.getConfig().getBoolean("rename-fire-charge", true);
         
         // Cache explosion and flight settings
-        this.explosionPower = (float) plugin.getConfig().getDouble("explosion-power", 4.0);
-        this.explosionSetFire = plugin.getConfig().getBoolean("set-fire", true);
-        this.explosionBreakBlocks = plugin.getConfig().getBoolean("break-blocks", false);
-        this.maxFlightTicks = plugin.getConfig().getInt(MAX_FLIGHT_TICKS_CONFIG, 80);
-        
-        String customNameStr = plugin.getConfig().getString("custom-name", "<gold>Fireball</gold>");
-        try {
-            this.customFireballName = MiniMessage.miniMessage().deserialize(customNameStr)
-                    .decoration(TextDecoration.ITALIC, false);
-        } catch (Exception e) {
-            plugin.getLogger().warning("Invalid custom-name in config, using default: " + e.getMessage());
-            this.customFireballName = DEFAULT_FIREBALL_NAME;
+        loadProfiles();
+        this.velocityMultiplier = plugin.getConfig().getDouble("velocity-multiplier", 1.5);
+
+        // Swept collision is opt-in - vanilla per-tick hits are fine for slow fireballs
+        if ("swept".equalsIgnoreCase(plugin.getConfig().getString("collision.mode", "vanilla"))) {
+            this.sweptCollider = new SweptCollider(
+                    plugin.getConfig().getDouble("collision.radius", 0.5),
+                    plugin.getConfig().getInt("collision.max-entity-candidates", 16));
+            double minSpeed = plugin.getConfig().getDouble("collision.min-speed", 1.0);
+            this.sweptMinSpeedSquared = minSpeed * minSpeed;
+        } else {
+            this.sweptCollider = null;
         }
-        
-        // Load kill message settings
+
+        this.friendlyFireProtection = plugin.getConfig().getBoolean("friendly-fire.protect-teammates", false);
+
         this.killMessageEnabled = plugin.getConfig().getBoolean("kill-message.enabled", true);
-        this.killMessageFormat = plugin.getConfig().getString("kill-message.format", 
-                "&8[&42b22&8] &7Gracz &c<killer> &7zabil gracza &c<victim> &7uzywajac &6fireball");
+    }
+
+    /**
+     * Loads fireball profiles. The "default" profile comes from the top-level
+     * explosion settings; entries under "profiles" inherit any value they omit from it.
+     */
+    private void loadProfiles() {
+        FireballProfile base = new FireballProfile(FireballProfile.DEFAULT,
+                (float) plugin.getConfig().getDouble("explosion-power", 4.0),
+                plugin.getConfig().getBoolean("set-fire", true),
+                plugin.getConfig().getBoolean("break-blocks", false),
+                plugin.getConfig().getInt(MAX_FLIGHT_TICKS_CONFIG, 80),
+                plugin.getConfig().getDouble("visibility.tracking-radius", 0.0),
+                plugin.getConfig().getDouble("homing.range", 0.0),
+                Math.toRadians(plugin.getConfig().getDouble("homing.turn-degrees", 6.0)));
+
+        Map<String, FireballProfile> loaded = new HashMap<>();
+        loaded.put(base.name(), base);
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("profiles");
+        if (section != null) {
+            for (String name : section.getKeys(false)) {
+                ConfigurationSection ps = section.getConfigurationSection(name);
+                if (ps == null) {
+                    continue;
+                }
+                loaded.put(name, new FireballProfile(name,
+                        (float) ps.getDouble("explosion-power", base.explosionPower()),
+                        ps.getBoolean("set-fire", base.setFire()),
+                        ps.getBoolean("break-blocks", base.breakBlocks()),
+                        ps.getInt(MAX_FLIGHT_TICKS_CONFIG, base.maxFlightTicks()),
+                        ps.getDouble("tracking-radius", base.trackingRadius()),
+                        ps.getDouble("homing-range", base.homingRange()),
+                        ps.contains("homing-turn-degrees")
+                                ? Math.toRadians(ps.getDouble("homing-turn-degrees"))
+                                : base.homingTurnRate()));
+            }
+        }
+
+        float maxPower = 0.0f;
+        double maxHomingRange = 0.0;
+        for (FireballProfile profile : loaded.values()) {
+            maxPower = Math.max(maxPower, profile.explosionPower());
+            if (profile.isHoming()) {
+                maxHomingRange = Math.max(maxHomingRange, profile.homingRange());
+            }
+        }
+        homing.setMaxRange(maxHomingRange);
+        this.profiles = Map.copyOf(loaded);
+        this.defaultProfile = loaded.get(FireballProfile.DEFAULT);
+        this.attributionSearchRadius = (int) Math.ceil(maxPower) + 1;
+    }
+
+    /**
+     * @return the profile with the given name, or the default profile if unknown
+     */
+    public FireballProfile getProfile(String name) {
+        FireballProfile profile = name != null ? profiles.get(name) : null;
+        return profile != null ? profile : defaultProfile;
+    }
+
+    /**
+     * @return names of all loaded profiles
+     */
+    public Collection<String> getProfileNames() {
+        return profiles.keySet();
     }
 
     /**
@@ -237,18 +333,32 @@ public class CustomFireballListener implements Listener {
         fireball.setYield(0.0f);
         fireball.setIsIncendiary(false);
 
-        Location loc = fireball.getLocation();
+        detonate(fireball, fireball.getLocation());
+    }
+
+    /**
+     * Removes our fireball and creates the custom explosion at the given location.
+     * Shared by the vanilla hit event and swept collision.
+     * Must run on the fireball's region thread.
+     */
+    private void detonate(LargeFireball fireball, Location loc) {
         World world = loc.getWorld();
         if (world == null) {
             fireball.remove();
             return;
         }
 
+        PersistentDataContainer pdc = fireball.getPersistentDataContainer();
+        FireballProfile profile = getProfile(pdc.get(cachedProfileKey, PersistentDataType.STRING));
+
         // Track shooter for kill message before removing fireball
         String shooterUuid = pdc.get(cachedShooterUuidKey, PersistentDataType.STRING);
-        if (shooterUuid != null && killMessageEnabled) {
+        UUID shooterId = shooterUuid != null ? UUID.fromString(shooterUuid) : null;
+        if (journal.isEnabled()) {
+            journal.record(JournalEventType.HIT, loc, shooterId);
+        }
+        if (shooterId != null && isAttributionEnabled()) {
             long locKey = createLocationKey(loc);
-            UUID shooterId = UUID.fromString(shooterUuid);
             explosionSources.put(locKey, shooterId);
             
             // Schedule cleanup after short delay (explosion damage is instant)
@@ -259,8 +369,18 @@ public class CustomFireballListener implements Listener {
         // Remove fireball before creating explosion
         fireball.remove();
 
-        // Use cached config values (no config reads per explosion)
-        loc.createExplosion(explosionPower, explosionSetFire, explosionBreakBlocks);
+        // Shooter's team is resolved once per explosion; damage events compare against it
+        int shooterTeam = friendlyFireProtection ? teams.teamOf(shooterId) : TeamRegistry.NO_TEAM;
+        explosionContext.begin(shooterId, shooterTeam);
+        try {
+            // Use cached profile values (no config reads per explosion)
+            loc.createExplosion(profile.explosionPower(), profile.setFire(), profile.breakBlocks());
+        } finally {
+            explosionContext.end();
+        }
+        if (journal.isEnabled()) {
+            journal.record(JournalEventType.EXPLOSION, loc, shooterId);
+        }
     }
 
     /**
@@ -268,111 +388,25 @@ public class CustomFireballListener implements Listener {
      * Used for short-lived explosion -> shooter tracking.
      */
     private long createLocationKey(Location loc) {
-        long x = loc.getBlockX();
-        long y = loc.getBlockY();
-        long z = loc.getBlockZ();
-        return (x & 0x3FFFFFFL) << 38 | (z & 0x3FFFFFFL) << 12 | (y & 0xFFFL);
+        return ExplosionSources.key(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ());
     }
 
     /**
-     * Handles player death to send kill message if killed by custom fireball.
-     * Checks if the last damage was from an explosion near a tracked fireball location.
+     * Explosion shooters only need to be tracked when something consumes the
+     * attribution: kill messages or replicated kill stats. Also decides whether
+     * {@link KillAttributionListener} is registered at all.
      */
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerDeath(PlayerDeathEvent event) {
-        if (!killMessageEnabled) {
-            return;
-        }
-
-        Player victim = event.getEntity();
-        EntityDamageEvent lastDamage = victim.getLastDamageCause();
-        
-        if (lastDamage == null) {
-            return;
-        }
-
-        // Check if death was from explosion
-        EntityDamageEvent.DamageCause cause = lastDamage.getCause();
-        if (cause != EntityDamageEvent.DamageCause.ENTITY_EXPLOSION 
-                && cause != EntityDamageEvent.DamageCause.BLOCK_EXPLOSION) {
-            return;
-        }
-
-        // Find the killer from tracked explosion sources
-        Location deathLoc = victim.getLocation();
-        UUID shooterId = findShooterNearLocation(deathLoc);
-        
-        if (shooterId == null) {
-            return;
-        }
-
-        // Don't show message for self-kills
-        if (shooterId.equals(victim.getUniqueId())) {
-            return;
-        }
-
-        Player killer = plugin.getServer().getPlayer(shooterId);
-        if (killer == null) {
-            return; // Killer offline
-        }
-
-        // Format and broadcast kill message
-        Component killMessage = formatKillMessage(killer.getName(), victim.getName());
-        plugin.getServer().broadcast(killMessage);
-        
-        // Optionally hide default death message
-        event.deathMessage(null);
+    public boolean isAttributionEnabled() {
+        return killMessageEnabled || clusterSync.isEnabled();
     }
 
     /**
      * Finds a shooter UUID from tracked explosions near the given location.
      * Searches within explosion radius.
      */
-    private UUID findShooterNearLocation(Location loc) {
-        // Check exact location first
-        long exactKey = createLocationKey(loc);
-        UUID shooter = explosionSources.get(exactKey);
-        if (shooter != null) {
-            return shooter;
-        }
-
+    UUID findShooterNearLocation(Location loc) {
         // Search nearby locations (explosion can damage players within radius)
-        int searchRadius = (int) Math.ceil(explosionPower) + 1;
-        for (int dx = -searchRadius; dx <= searchRadius; dx++) {
-            for (int dy = -searchRadius; dy <= searchRadius; dy++) {
-                for (int dz = -searchRadius; dz <= searchRadius; dz++) {
-                    Location checkLoc = loc.clone().add(dx, dy, dz);
-                    long key = createLocationKey(checkLoc);
-                    shooter = explosionSources.get(key);
-                    if (shooter != null) {
-                        return shooter;
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Formats the kill message with killer and victim names.
-     * Supports both MiniMessage format and legacy color codes (&amp;).
-     */
-    private Component formatKillMessage(String killerName, String victimName) {
-        String message = killMessageFormat
-                .replace("<killer>", killerName)
-                .replace("<victim>", victimName);
-        
-        // First try MiniMessage format, then fall back to legacy
-        if (message.contains("<") && message.contains(">")) {
-            try {
-                return MiniMessage.miniMessage().deserialize(message);
-            } catch (Exception e) {
-                // Fall through to legacy
-            }
-        }
-        
-        // Use legacy color codes (&7, &c, etc.)
-        return LegacyComponentSerializer.legacyAmpersand().deserialize(message);
+        return explosionSources.find(loc.getBlockX(), loc.getBlockY(), loc.getBlockZ(), attributionSearchRadius);
     }
 
     /**
@@ -397,7 +431,9 @@ public class CustomFireballListener implements Listener {
     }
 
     /**
-     * Remove cooldown when player quits to prevent memory accumulation.
+     * Remove cooldown and team membership when player quits to prevent memory accumulation.
+     * Teams are cleared here rather than in the friendly-fire module so the
+     * registry is bounded by online players whether the module is enabled or not.
      * Event runs on region thread - safe to modify ConcurrentHashMap.
      */
     @EventHandler
@@ -405,144 +441,7 @@ public class CustomFireballListener implements Listener {
         UUID playerId = event.getPlayer().getUniqueId();
         cooldowns.remove(playerId);
         messageCooldowns.remove(playerId);
-    }
-
-    // ==================== FIRE CHARGE RENAMING ====================
-
-    /**
-     * Renames Fire Charge to custom name when crafted.
-     */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onCraftFireCharge(CraftItemEvent event) {
-        if (!renameEnabled) {
-            return;
-        }
-
-        ItemStack result = event.getRecipe().getResult();
-        if (result.getType() != Material.FIRE_CHARGE) {
-            return;
-        }
-
-        // Modify the result in the crafting inventory
-        ItemStack current = event.getCurrentItem();
-        if (current != null && current.getType() == Material.FIRE_CHARGE) {
-            renameToFireball(current);
-        }
-    }
-
-    /**
-     * Renames Fire Charge to custom name when it spawns in the world (drops).
-     */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onItemSpawn(ItemSpawnEvent event) {
-        if (!renameEnabled) {
-            return;
-        }
-
-        Item item = event.getEntity();
-        ItemStack stack = item.getItemStack();
-
-        if (stack.getType() != Material.FIRE_CHARGE) {
-            return;
-        }
-
-        // Only rename if it doesn't have a custom name already
-        if (!stack.hasItemMeta() || !stack.getItemMeta().hasDisplayName()) {
-            renameToFireball(stack);
-            item.setItemStack(stack);
-        }
-    }
-
-    /**
-     * Renames Fire Charge to custom name when player interacts with inventory.
-     * Catches items from chests, hoppers, trading, etc.
-     */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onInventoryClick(InventoryClickEvent event) {
-        if (!renameEnabled) {
-            return;
-        }
-
-        ItemStack cursor = event.getCursor();
-        ItemStack current = event.getCurrentItem();
-
-        // Rename cursor item if it's an unnamed Fire Charge
-        if (shouldRenameItem(cursor)) {
-            renameToFireball(cursor);
-        }
-
-        // Rename clicked item if it's an unnamed Fire Charge
-        if (shouldRenameItem(current)) {
-            renameToFireball(current);
-        }
-    }
-
-    /**
-     * Renames all Fire Charges in player inventory when they join.
-     * This catches items that existed before the plugin was installed.
-     */
-    @EventHandler(priority = EventPriority.MONITOR)
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        if (!renameEnabled) {
-            return;
-        }
-
-        Player player = event.getPlayer();
-        renameAllFireChargesInInventory(player.getInventory());
-    }
-
-    /**
-     * Renames all Fire Charges when a container (chest, hopper, etc.) is opened.
-     * This catches items in chests that existed before the plugin was installed.
-     */
-    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
-    public void onInventoryOpen(InventoryOpenEvent event) {
-        if (!renameEnabled) {
-            return;
-        }
-
-        Inventory inventory = event.getInventory();
-        renameAllFireChargesInInventory(inventory);
-    }
-
-    /**
-     * Renames all Fire Charges in the given inventory.
-     * 
-     * @param inventory The inventory to scan and rename items in
-     */
-    private void renameAllFireChargesInInventory(Inventory inventory) {
-        for (ItemStack item : inventory.getContents()) {
-            if (shouldRenameItem(item)) {
-                renameToFireball(item);
-            }
-        }
-    }
-
-    /**
-     * Checks if an item should be renamed to Fireball.
-     * Returns true if item is a Fire Charge without custom name.
-     * Optimized to avoid double meta access.
-     */
-    private boolean shouldRenameItem(ItemStack item) {
-        if (item == null || item.getType() != Material.FIRE_CHARGE) {
-            return false;
-        }
-        // Optimized: single meta access instead of hasItemMeta() + getItemMeta()
-        var meta = item.getItemMeta();
-        return meta == null || !meta.hasDisplayName();
-    }
-
-    /**
-     * Renames a Fire Charge ItemStack to the configured custom name.
-     * 
-     * @param item The ItemStack to rename
-     */
-    private void renameToFireball(ItemStack item) {
-        if (item == null || item.getType() != Material.FIRE_CHARGE) {
-            return;
-        }
-        Component name = customFireballName;
-        item.editMeta(meta -> meta.displayName(name));
+        teams.clearTeam(playerId);
     }
 
     /**
@@ -554,6 +453,10 @@ public class CustomFireballListener implements Listener {
      * @return true if cooldown acquired successfully, false if on cooldown
      */
     private boolean tryAcquireCooldown(Player player) {
+        if (journal.isEnabled()) {
+            journal.record(JournalEventType.FIRE_ATTEMPT, player.getLocation(), player.getUniqueId());
+        }
+
         if (cooldownMillis <= 0) {
             return true; // No cooldown configured
         }
@@ -561,31 +464,18 @@ public class CustomFireballListener implements Listener {
         UUID playerId = player.getUniqueId();
         long currentTime = System.currentTimeMillis();
 
-        // Atomic check-and-set using compute()
-        // This prevents race conditions between get() and put()
-        boolean[] canFire = {false};
-        boolean[] shouldSendMessage = {false};
-        long[] timeLeftRef = {0};
-        
-        cooldowns.compute(playerId, (uuid, lastUse) -> {
-            if (lastUse == null || (currentTime - lastUse) >= cooldownMillis) {
-                canFire[0] = true;
-                return currentTime; // Update timestamp
-            }
-            // Still on cooldown - check if we should send message
-            // Round UP to avoid showing "0 seconds" when still on cooldown
-            long timeLeftMs = cooldownMillis - (currentTime - lastUse);
-            timeLeftRef[0] = (timeLeftMs + 999) / 1000; // Round up to nearest second
-            shouldSendMessage[0] = true;
-            return lastUse;
-        });
-        
-        // Send message outside of compute() to avoid blocking, with rate limiting
-        if (shouldSendMessage[0]) {
-            sendCooldownMessage(player, playerId, currentTime, timeLeftRef[0]);
+        // Atomic check-and-set inside the tracker
+        long timeLeftMs = cooldowns.tryAcquire(playerId, currentTime, cooldownMillis);
+        if (timeLeftMs == 0L) {
+            // Only enqueues - the local decision never waits for the network
+            clusterSync.publishCooldown(playerId, currentTime);
+            return true;
         }
 
-        return canFire[0];
+        // Send message outside of compute() to avoid blocking, with rate limiting
+        // Round UP to avoid showing "0 seconds" when still on cooldown
+        sendCooldownMessage(player, playerId, currentTime, (timeLeftMs + 999) / 1000);
+        return false;
     }
     
     /**
@@ -612,19 +502,34 @@ public class CustomFireballListener implements Listener {
      * FOLIA SAFETY: This is called during plugin disable, safe to clear all data.
      */
     public void cleanup() {
-        int size = cooldowns.size() + messageCooldowns.size() + explosionSources.size();
+        int size = cooldowns.size() + messageCooldowns.size() + explosionSources.size() + killStats.size();
         cooldowns.clear();
+        killStats.clear();
         messageCooldowns.clear();
         explosionSources.clear();
         // S2629: Use built-in formatting instead of string concatenation
         plugin.getLogger().log(Level.INFO, "Cache cleared: {0} entries removed", size);
     }
 
+    public CooldownTracker getCooldowns() {
+        return cooldowns;
+    }
+
+    public KillStats getKillStats() {
+        return killStats;
+    }
+
+    public ExplosionContext getExplosionContext() {
+        return explosionContext;
+    }
+
     /**
      * Reloads cached config values. Call after config reload.
      */
     public void reloadConfig() {
         loadConfigValues();
+        visibility.reload();
+        homing.reload();
     }
 
     /**
@@ -640,18 +545,8 @@ public class CustomFireballListener implements Listener {
             return; // No cooldowns enabled
         }
 
-        long currentTime = System.currentTimeMillis();
-        int removed = 0;
-
         // ConcurrentHashMap iterator is safe for concurrent modifications
-        Iterator<Map.Entry<UUID, Long>> iterator = cooldowns.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, Long> entry = iterator.next();
-            if (currentTime - entry.getValue() > cooldownMillis) {
-                iterator.remove();
-                removed++;
-            }
-        }
+        int removed = cooldowns.removeExpired(System.currentTimeMillis(), cooldownMillis);
 
         if (removed > 0) {
             // S2629: Use built-in formatting instead of string concatenation
@@ -691,14 +586,8 @@ public class CustomFireballListener implements Listener {
     }
 
     /**
-     * Spawns a custom fireball with TTL (Time To Live) protection.
-     * Uses EntityScheduler to automatically remove the fireball after
-     * max-flight-ticks.
-     * This prevents fireballs from flying infinitely if they don't hit anything.
-     * 
-     * FOLIA SAFETY: EntityScheduler always runs on the correct region thread for
-     * the entity.
-     * 
+     * Spawns a Fire Charge shot for the player using the default profile.
+     *
      * @param player The player shooting the fireball
      */
     private void spawnCustomFireball(Player player) {
@@ -710,11 +599,33 @@ public class CustomFireballListener implements Listener {
         eye.add(offset);
 
         // Clone direction for velocity - original direction remains unmodified
-        Vector velocity = direction.clone().multiply(VELOCITY_MULTIPLIER);
+        Vector velocity = direction.clone().multiply(velocityMultiplier);
+
+        spawnFireball(eye, velocity, defaultProfile, player);
+    }
+
+    /**
+     * Spawns a custom fireball with TTL (Time To Live) protection.
+     * Uses EntityScheduler to automatically remove the fireball after
+     * the profile's max-flight-ticks.
+     * This prevents fireballs from flying infinitely if they don't hit anything.
+     * 
+     * FOLIA SAFETY: Must be called on the region thread owning the origin.
+     * EntityScheduler always runs on the correct region thread for the entity.
+     * 
+     * @param origin   Spawn location
+     * @param velocity Initial velocity
+     * @param profile  Explosion and flight settings
+     * @param shooter  Shooter for damage/kill attribution, may be null
+     * @return the spawned fireball
+     */
+    public LargeFireball spawnFireball(Location origin, Vector velocity, FireballProfile profile,
+                                       ProjectileSource shooter) {
+        UUID shooterId = shooter instanceof Entity entity ? entity.getUniqueId() : null;
 
-        World world = player.getWorld();
-        world.spawn(eye, LargeFireball.class, fb -> {
-            fb.setShooter(player); // Assign shooter for damage/knockback attribution
+        World world = origin.getWorld();
+        return world.spawn(origin, LargeFireball.class, fb -> {
+            fb.setShooter(shooter); // Assign shooter for damage/knockback attribution
             fb.setIsIncendiary(false); // Fireball itself won't ignite blocks
             fb.setYield(0.0f); // Disable default explosion
             fb.setVelocity(velocity);
@@ -722,23 +633,143 @@ public class CustomFireballListener implements Listener {
             // Tag fireball using PersistentDataContainer (using cached key)
             PersistentDataContainer pdc = fb.getPersistentDataContainer();
             pdc.set(cachedFireballKey, PersistentDataType.BYTE, (byte) 1);
+            pdc.set(cachedProfileKey, PersistentDataType.STRING, profile.name());
             // Store shooter UUID for kill message tracking
-            pdc.set(cachedShooterUuidKey, PersistentDataType.STRING, player.getUniqueId().toString());
-
-            // TTL protection - auto-remove after max flight time (using cached value)
-            int flightTicks = maxFlightTicks; // Use cached config value
-            if (flightTicks > 0) {
-                // EntityScheduler is Folia-safe: always runs on entity's region thread
-                fb.getScheduler().runDelayed(plugin, task -> {
-                    // Double-check: only remove if still alive and still our custom fireball
-                    if (!fb.isDead() && fb.isValid() && pdc.has(cachedFireballKey, PersistentDataType.BYTE)) {
-                        fb.remove();
-                    }
-                }, null, flightTicks);
+            if (shooterId != null) {
+                pdc.set(cachedShooterUuidKey, PersistentDataType.STRING, shooterId.toString());
+            }
+            if (journal.isEnabled()) {
+                journal.record(JournalEventType.SPAWN, fb.getLocation(), shooterId);
             }
+
+            armFlight(fb, profile, profile.maxFlightTicks());
         });
     }
 
+    /**
+     * Arms the flight lifecycle of a custom fireball: TTL removal and, when
+     * enabled, per-tick swept collision, homing steering and per-player
+     * visibility refresh. All tasks live on the EntityScheduler and are retired with the entity,
+     * so the expiry world tick is also stored in the PDC - it survives chunk
+     * unloads and restarts and lets {@link OrphanedFireballReaper} re-arm the TTL.
+     *
+     * FOLIA SAFETY: EntityScheduler always runs on the correct region thread for
+     * the entity.
+     *
+     * @param fb          The fireball
+     * @param profile     The fireball's profile
+     * @param flightTicks Ticks until removal, 0 or less for no limit
+     */
+    void armFlight(LargeFireball fb, FireballProfile profile, int flightTicks) {
+        PersistentDataContainer pdc = fb.getPersistentDataContainer();
+
+        // TTL protection - auto-remove after max flight time
+        if (flightTicks > 0) {
+            pdc.set(cachedExpiryTickKey, PersistentDataType.LONG, fb.getWorld().getGameTime() + flightTicks);
+            fb.getScheduler().runDelayed(plugin, task -> {
+                // Double-check: only remove if still alive and still our custom fireball
+                if (!fb.isDead() && fb.isValid() && pdc.has(cachedFireballKey, PersistentDataType.BYTE)) {
+                    fb.remove();
+                }
+            }, null, flightTicks);
+        }
+
+        // Swept collision - traces each tick's movement before vanilla moves the entity
+        SweptCollider collider = sweptCollider;
+        if (collider != null) {
+            fb.getScheduler().runAtFixedRate(plugin, task -> {
+                if (!fb.isValid()) {
+                    task.cancel();
+                    return;
+                }
+                sweepTick(fb, collider);
+            }, null, 1L, 1L);
+        }
+
+        // Homing - steers toward the nearest valid player, within the per-region cap
+        if (profile.isHoming()) {
+            HomingTargets.Slot slot = homing.tryAcquire(fb);
+            if (slot != null) {
+                Predicate<Player> valid = homingTargetFilter(pdc.get(cachedShooterUuidKey, PersistentDataType.STRING));
+                fb.getScheduler().runAtFixedRate(plugin, task -> {
+                    if (!fb.isValid()) {
+                        task.cancel();
+                        slot.release();
+                        return;
+                    }
+                    homing.steer(fb, profile, valid);
+                }, slot::release, 1L, 1L);
+            }
+        }
+
+        // Tracking culling - hidden by default, shown only to eligible players
+        if (visibility.isCulled(profile)) {
+            int entityId = fb.getEntityId();
+            visibility.track(fb, profile);
+            int refreshTicks = visibility.getRefreshTicks();
+            fb.getScheduler().runAtFixedRate(plugin, task -> {
+                if (!fb.isValid()) {
+                    task.cancel();
+                    visibility.untrack(entityId);
+                    return;
+                }
+                visibility.refresh(fb);
+            }, () -> visibility.untrack(entityId), refreshTicks, refreshTicks);
+        }
+    }
+
+    /**
+     * Homing fireballs never target their shooter, the shooter's teammates
+     * (with friendly-fire protection) or players who cannot take damage.
+     * Team ids are resolved per candidate, so team changes apply mid-flight.
+     */
+    private Predicate<Player> homingTargetFilter(String shooterUuid) {
+        UUID shooterId = shooterUuid != null ? UUID.fromString(shooterUuid) : null;
+        boolean protectTeammates = friendlyFireProtection && shooterId != null;
+        return player -> {
+            if (player.isDead()) {
+                return false;
+            }
+            GameMode mode = player.getGameMode();
+            if (mode != GameMode.SURVIVAL && mode != GameMode.ADVENTURE) {
+                return false;
+            }
+            UUID id = player.getUniqueId();
+            if (id.equals(shooterId)) {
+                return false;
+            }
+            return !protectTeammates || !TeamRegistry.sameTeam(teams.teamOf(shooterId), teams.teamOf(id));
+        };
+    }
+
+    /**
+     * Traces one tick of fireball movement and detonates at the exact impact
+     * point if the segment hits a block or entity.
+     */
+    private void sweepTick(LargeFireball fb, SweptCollider collider) {
+        Vector velocity = fb.getVelocity();
+        // Slow fireballs cannot tunnel - leave them to vanilla collision
+        if (velocity.lengthSquared() < sweptMinSpeedSquared) {
+            return;
+        }
+
+        Location loc = fb.getLocation();
+        // Vanilla does not let a projectile hit its shooter right after launch
+        Entity ignored = null;
+        if (fb.getTicksLived() < SHOOTER_GRACE_TICKS && fb.getShooter() instanceof Entity shooter) {
+            ignored = shooter;
+        }
+
+        SweptCollider.Impact impact = collider.trace(loc.getWorld(), loc.toVector(), velocity, fb, ignored);
+        if (impact == null) {
+            return;
+        }
+
+        fb.setYield(0.0f);
+        fb.setIsIncendiary(false);
+        detonate(fb, impact.point().toLocation(loc.getWorld()));
+    }
+
     /**
      * Attempts to fire a fireball from packet listener context.
      * Uses the same cooldown logic as event-based firing.
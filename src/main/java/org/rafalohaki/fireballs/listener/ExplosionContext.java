@@ -0,0 +1,68 @@
+package org.rafalohaki.fireballs.listener;
+
+import org.rafalohaki.fireballs.team.TeamRegistry;
+
+import java.util.UUID;
+
+/**
+ * Marks the custom fireball explosion currently running on this thread.
+ *
+ * createExplosion() fires its damage and ignite events synchronously on the
+ * calling region thread, so handlers can tell "caused by our explosion" apart
+ * from everything else with a single ThreadLocal read.
+ *
+ * FOLIA THREAD SAFETY:
+ * - One state per region thread, never shared
+ */
+public final class ExplosionContext {
+
+    private static final class State {
+        boolean active;
+        UUID shooterId;
+        int shooterTeam = TeamRegistry.NO_TEAM;
+    }
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    /**
+     * Marks the start of a fireball explosion on this thread.
+     * MUST be paired with {@link #end()} in a finally block.
+     *
+     * @param shooterId   Shooter, or null if unknown
+     * @param shooterTeam Shooter's team id, or {@link TeamRegistry#NO_TEAM}
+     */
+    public void begin(UUID shooterId, int shooterTeam) {
+        State current = state.get();
+        current.active = true;
+        current.shooterId = shooterId;
+        current.shooterTeam = shooterTeam;
+    }
+
+    public void end() {
+        State current = state.get();
+        current.active = false;
+        current.shooterId = null;
+        current.shooterTeam = TeamRegistry.NO_TEAM;
+    }
+
+    /**
+     * @return true while one of our explosions runs on this thread
+     */
+    public boolean isActive() {
+        return state.get().active;
+    }
+
+    /**
+     * @return shooter whose explosion is running on this thread, or null
+     */
+    public UUID shooterId() {
+        return state.get().shooterId;
+    }
+
+    /**
+     * @return team of the shooter whose explosion is running on this thread, or {@link TeamRegistry#NO_TEAM}
+     */
+    public int shooterTeam() {
+        return state.get().shooterTeam;
+    }
+}
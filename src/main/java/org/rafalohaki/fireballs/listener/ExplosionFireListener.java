@@ -0,0 +1,73 @@
+package org.rafalohaki.fireballs.listener;
+
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.rafalohaki.fireballs.fire.FireTracker;
+
+/**
+ * Feeds the {@link FireTracker} with fire lit by custom fireball explosions.
+ * Registered as a feature module only while fire-tracking is enabled; the
+ * first registration starts the tracker's sweep dispatcher, which keeps
+ * running so fire tracked so far still burns out after the module is
+ * switched off. Fire in an unloading chunk is frozen and resumed when the
+ * chunk loads, while the module is registered.
+ *
+ * - EXPLOSION ignites inside one of our createExplosion() calls are tracked
+ * - SPREAD ignites from a tracked fire block are tracked as well
+ * - anything else lighting a tracked position takes it over (untracked)
+ * Ignites over the per-region cap are cancelled. Chunk unloads and loads are
+ * forwarded so time spent unloaded does not count towards the burn-out.
+ *
+ * FOLIA SAFETY: Explosion ignites run synchronously inside createExplosion()
+ * on the exploding region's thread, so the explosion context is visible.
+ */
+public class ExplosionFireListener implements Listener, FeatureModules.Lifecycle {
+
+    private final FireTracker fireTracker;
+    private final ExplosionContext explosionContext;
+
+    public ExplosionFireListener(FireTracker fireTracker, ExplosionContext explosionContext) {
+        this.fireTracker = fireTracker;
+        this.explosionContext = explosionContext;
+    }
+
+    @Override
+    public void onRegister() {
+        fireTracker.start();
+    }
+
+    // HIGHEST + ignoreCancelled: only fire that is actually placed gets tracked
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onBlockIgnite(BlockIgniteEvent event) {
+        Block block = event.getBlock();
+        boolean ours = switch (event.getCause()) {
+            case EXPLOSION -> explosionContext.isActive();
+            case SPREAD -> event.getIgnitingBlock() != null && fireTracker.isTracked(event.getIgnitingBlock());
+            default -> false;
+        };
+
+        if (!ours) {
+            // Lit by something else - never extinguish it on its behalf
+            fireTracker.untrack(block);
+            return;
+        }
+        if (!fireTracker.track(block)) {
+            event.setCancelled(true); // Region is at its fire cap
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        fireTracker.onChunkLoad(event.getWorld(), event.getChunk().getX(), event.getChunk().getZ());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        fireTracker.onChunkUnload(event.getWorld(), event.getChunk().getX(), event.getChunk().getZ());
+    }
+}
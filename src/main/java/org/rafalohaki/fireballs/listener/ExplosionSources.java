@@ -0,0 +1,65 @@
+package org.rafalohaki.fireballs.listener;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived index of explosion block positions to shooter UUIDs.
+ * Used to attribute explosion deaths to the player who fired the fireball.
+ * Has no Bukkit dependencies so the journal replay runner can drive it headlessly.
+ */
+public final class ExplosionSources {
+
+    // Packed block position -> shooter UUID
+    private final ConcurrentHashMap<Long, UUID> sources = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a unique key for block coordinates.
+     */
+    public static long key(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | ((long) y & 0xFFFL);
+    }
+
+    public void put(long key, UUID shooterId) {
+        sources.put(key, shooterId);
+    }
+
+    public void remove(long key) {
+        sources.remove(key);
+    }
+
+    /**
+     * Finds a shooter from tracked explosions near the given block position.
+     * Checks the exact position first, then searches the cube of the given radius.
+     */
+    public UUID find(int x, int y, int z, int searchRadius) {
+        if (sources.isEmpty()) {
+            return null;
+        }
+
+        UUID shooter = sources.get(key(x, y, z));
+        if (shooter != null) {
+            return shooter;
+        }
+
+        for (int dx = -searchRadius; dx <= searchRadius; dx++) {
+            for (int dy = -searchRadius; dy <= searchRadius; dy++) {
+                for (int dz = -searchRadius; dz <= searchRadius; dz++) {
+                    shooter = sources.get(key(x + dx, y + dy, z + dz));
+                    if (shooter != null) {
+                        return shooter;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return sources.size();
+    }
+
+    public void clear() {
+        sources.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package org.rafalohaki.fireballs.listener;
+
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Optional listeners that are only registered while their feature is enabled.
+ *
+ * A disabled feature has no handlers in Bukkit's HandlerList, so it costs zero
+ * event dispatches - not even an early-return on a volatile flag. On
+ * {@link #apply()} every module is unregistered and, if still enabled,
+ * re-created so it picks up a fresh config snapshot. Listeners that own
+ * tasks or shared state implement {@link Lifecycle} to start and stop them
+ * together with their handlers.
+ *
+ * FOLIA THREAD SAFETY:
+ * - HandlerList registration is internally synchronized and may run from any thread
+ * - apply()/clear() are synchronized so concurrent reloads cannot double-register
+ */
+public final class FeatureModules {
+
+    /**
+     * Optional hooks for module listeners, called under the FeatureModules monitor.
+     */
+    public interface Lifecycle {
+
+        /**
+         * Called right after the listener's handlers are registered.
+         */
+        default void onRegister() {
+        }
+
+        /**
+         * Called right after the listener's handlers are unregistered.
+         */
+        default void onUnregister() {
+        }
+    }
+
+    private static final class Module {
+        final String name;
+        final BooleanSupplier enabled;
+        final Supplier<? extends Listener> factory;
+        Listener active;
+
+        Module(String name, BooleanSupplier enabled, Supplier<? extends Listener> factory) {
+            this.name = name;
+            this.enabled = enabled;
+            this.factory = factory;
+        }
+    }
+
+    private final Plugin plugin;
+    private final List<Module> modules = new ArrayList<>();
+
+    public FeatureModules(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Adds a module. Nothing is registered until {@link #apply()}.
+     *
+     * @param name    Name for logging
+     * @param enabled Evaluated on every apply, after config values are reloaded
+     * @param factory Creates the listener with the current config snapshot
+     */
+    public synchronized void add(String name, BooleanSupplier enabled, Supplier<? extends Listener> factory) {
+        modules.add(new Module(name, enabled, factory));
+    }
+
+    /**
+     * Registers enabled modules and unregisters disabled ones.
+     * Call on enable and after every config reload.
+     */
+    public synchronized void apply() {
+        List<String> active = new ArrayList<>();
+        for (Module module : modules) {
+            unregister(module);
+            if (module.enabled.getAsBoolean()) {
+                module.active = module.factory.get();
+                plugin.getServer().getPluginManager().registerEvents(module.active, plugin);
+                if (module.active instanceof Lifecycle lifecycle) {
+                    lifecycle.onRegister();
+                }
+                active.add(module.name);
+            }
+        }
+        plugin.getLogger().info("Active modules: " + (active.isEmpty() ? "none" : String.join(", ", active)));
+    }
+
+    /**
+     * Unregisters all modules. Called from onDisable().
+     */
+    public synchronized void clear() {
+        for (Module module : modules) {
+            unregister(module);
+        }
+    }
+
+    private static void unregister(Module module) {
+        if (module.active == null) {
+            return;
+        }
+        HandlerList.unregisterAll(module.active);
+        if (module.active instanceof Lifecycle lifecycle) {
+            lifecycle.onUnregister();
+        }
+        module.active = null;
+    }
+}
@@ -0,0 +1,167 @@
+package org.rafalohaki.fireballs.listener;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.ItemSpawnEvent;
+import org.bukkit.event.inventory.CraftItemEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Renames Fire Charge items to the configured custom name.
+ * Only registered while rename-fire-charge is enabled - inventory click and
+ * item spawn are hot events, so a disabled rename costs no dispatch at all.
+ * Re-created on reload with a fresh name snapshot.
+ *
+ * FOLIA SAFETY: All handlers run on the region thread owning the player,
+ * item or inventory holder; the name is an immutable Component.
+ */
+public class FireChargeRenameListener implements Listener {
+
+    // Default name if config parsing fails
+    private static final Component DEFAULT_FIREBALL_NAME = Component.text("Fireball", NamedTextColor.GOLD)
+            .decoration(TextDecoration.ITALIC, false);
+
+    // Custom name for Fire Charge items (parsed from MiniMessage once per registration)
+    private final Component customFireballName;
+
+    public FireChargeRenameListener(Plugin plugin) {
+        String customNameStr = plugin.getConfig().getString("custom-name", "<gold>Fireball</gold>");
+        Component name;
+        try {
+            name = MiniMessage.miniMessage().deserialize(customNameStr)
+                    .decoration(TextDecoration.ITALIC, false);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Invalid custom-name in config, using default: " + e.getMessage());
+            name = DEFAULT_FIREBALL_NAME;
+        }
+        this.customFireballName = name;
+    }
+
+    /**
+     * Renames Fire Charge to custom name when crafted.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onCraftFireCharge(CraftItemEvent event) {
+        ItemStack result = event.getRecipe().getResult();
+        if (result.getType() != Material.FIRE_CHARGE) {
+            return;
+        }
+
+        // Modify the result in the crafting inventory
+        ItemStack current = event.getCurrentItem();
+        if (current != null && current.getType() == Material.FIRE_CHARGE) {
+            renameToFireball(current);
+        }
+    }
+
+    /**
+     * Renames Fire Charge to custom name when it spawns in the world (drops).
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onItemSpawn(ItemSpawnEvent event) {
+        Item item = event.getEntity();
+        ItemStack stack = item.getItemStack();
+
+        if (stack.getType() != Material.FIRE_CHARGE) {
+            return;
+        }
+
+        // Only rename if it doesn't have a custom name already
+        if (!stack.hasItemMeta() || !stack.getItemMeta().hasDisplayName()) {
+            renameToFireball(stack);
+            item.setItemStack(stack);
+        }
+    }
+
+    /**
+     * Renames Fire Charge to custom name when player interacts with inventory.
+     * Catches items from chests, hoppers, trading, etc.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryClick(InventoryClickEvent event) {
+        ItemStack cursor = event.getCursor();
+        ItemStack current = event.getCurrentItem();
+
+        // Rename cursor item if it's an unnamed Fire Charge
+        if (shouldRenameItem(cursor)) {
+            renameToFireball(cursor);
+        }
+
+        // Rename clicked item if it's an unnamed Fire Charge
+        if (shouldRenameItem(current)) {
+            renameToFireball(current);
+        }
+    }
+
+    /**
+     * Renames all Fire Charges in player inventory when they join.
+     * This catches items that existed before the plugin was installed.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        renameAllFireChargesInInventory(player.getInventory());
+    }
+
+    /**
+     * Renames all Fire Charges when a container (chest, hopper, etc.) is opened.
+     * This catches items in chests that existed before the plugin was installed.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onInventoryOpen(InventoryOpenEvent event) {
+        Inventory inventory = event.getInventory();
+        renameAllFireChargesInInventory(inventory);
+    }
+
+    /**
+     * Renames all Fire Charges in the given inventory.
+     *
+     * @param inventory The inventory to scan and rename items in
+     */
+    private void renameAllFireChargesInInventory(Inventory inventory) {
+        for (ItemStack item : inventory.getContents()) {
+            if (shouldRenameItem(item)) {
+                renameToFireball(item);
+            }
+        }
+    }
+
+    /**
+     * Checks if an item should be renamed to Fireball.
+     * Returns true if item is a Fire Charge without custom name.
+     * Optimized to avoid double meta access.
+     */
+    private boolean shouldRenameItem(ItemStack item) {
+        if (item == null || item.getType() != Material.FIRE_CHARGE) {
+            return false;
+        }
+        // Optimized: single meta access instead of hasItemMeta() + getItemMeta()
+        var meta = item.getItemMeta();
+        return meta == null || !meta.hasDisplayName();
+    }
+
+    /**
+     * Renames a Fire Charge ItemStack to the configured custom name.
+     *
+     * @param item The ItemStack to rename
+     */
+    private void renameToFireball(ItemStack item) {
+        if (item == null || item.getType() != Material.FIRE_CHARGE) {
+            return;
+        }
+        item.editMeta(meta -> meta.displayName(customFireballName));
+    }
+}
@@ -0,0 +1,151 @@
+package org.rafalohaki.fireballs.listener;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scoreboard.Team;
+import org.rafalohaki.fireballs.team.TeamRegistry;
+
+/**
+ * Keeps teammates out of custom fireball explosion damage.
+ * Registered as a feature module only while friendly-fire.protect-teammates
+ * is enabled, so the damage handler costs nothing otherwise; /fireballs reload
+ * switches it on and off.
+ *
+ * Team membership comes either from other plugins through FireballService
+ * (source: api, default) or from the main scoreboard (source: scoreboard),
+ * read on join and re-read every scoreboard-refresh-ticks per player - Bukkit
+ * has no team join/leave events to listen to. Folia does not support the
+ * scoreboard API, so there the scoreboard source falls back to api with a
+ * warning. Players already online when the module is registered are picked
+ * up immediately; unregistering stops their refresh tasks and forgets the
+ * scoreboard teams.
+ *
+ * FOLIA SAFETY: Damage events run on the victim's region thread, which is the
+ * thread running createExplosion(), so the explosion context is visible.
+ */
+public class FriendlyFireListener implements Listener, FeatureModules.Lifecycle {
+
+    private final Plugin plugin;
+    private final TeamRegistry teams;
+    private final ExplosionContext explosionContext;
+    private final boolean scoreboardSource;
+    private final long refreshTicks;
+    // Whether the shooter is spared from their own explosion like a teammate
+    private final boolean protectShooter;
+    // Set on unregister - refresh tasks cancel themselves on their next run
+    private volatile boolean closed;
+
+    public FriendlyFireListener(Plugin plugin, TeamRegistry teams, ExplosionContext explosionContext) {
+        this.plugin = plugin;
+        this.teams = teams;
+        this.explosionContext = explosionContext;
+        boolean wantsScoreboard = "scoreboard".equalsIgnoreCase(
+                plugin.getConfig().getString("friendly-fire.source", "api"));
+        if (wantsScoreboard && isFolia()) {
+            plugin.getLogger().warning("friendly-fire.source: scoreboard is not supported on Folia, using api");
+            wantsScoreboard = false;
+        }
+        this.scoreboardSource = wantsScoreboard;
+        this.refreshTicks = Math.max(1, plugin.getConfig().getInt("friendly-fire.scoreboard-refresh-ticks", 40));
+        this.protectShooter = plugin.getConfig().getBoolean("friendly-fire.protect-shooter", false);
+    }
+
+    /**
+     * Cancels explosion damage to the shooter's teammates.
+     * The shooter is a member of their own team but still takes self-damage
+     * unless friendly-fire.protect-shooter is set.
+     * One ThreadLocal read for unrelated damage, one int comparison per victim.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onExplosionDamage(EntityDamageEvent event) {
+        int shooterTeam = explosionContext.shooterTeam();
+        if (shooterTeam == TeamRegistry.NO_TEAM) {
+            return; // Not inside one of our explosions
+        }
+        if (!(event.getEntity() instanceof Player victim)) {
+            return;
+        }
+        EntityDamageEvent.DamageCause cause = event.getCause();
+        if (cause != EntityDamageEvent.DamageCause.BLOCK_EXPLOSION
+                && cause != EntityDamageEvent.DamageCause.ENTITY_EXPLOSION) {
+            return;
+        }
+        if (!protectShooter && victim.getUniqueId().equals(explosionContext.shooterId())) {
+            return; // Own fireball hurts like vanilla
+        }
+        if (teams.teamOf(victim.getUniqueId()) == shooterTeam) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        if (!scoreboardSource) {
+            return;
+        }
+        Player player = event.getPlayer();
+        refreshFromScoreboard(player);
+        startRefresh(player);
+    }
+
+    @Override
+    public void onRegister() {
+        if (!scoreboardSource) {
+            return;
+        }
+        // Enabled by /fireballs reload - nobody is going to join again
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            player.getScheduler().run(plugin, task -> {
+                if (!closed) {
+                    refreshFromScoreboard(player);
+                    startRefresh(player);
+                }
+            }, null);
+        }
+    }
+
+    @Override
+    public void onUnregister() {
+        closed = true;
+        if (!scoreboardSource) {
+            return; // api teams belong to other plugins
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            teams.clearTeam(player.getUniqueId());
+        }
+    }
+
+    private void startRefresh(Player player) {
+        // EntityScheduler task is retired automatically when the player quits
+        player.getScheduler().runAtFixedRate(plugin, task -> {
+            if (closed) {
+                task.cancel();
+                return;
+            }
+            refreshFromScoreboard(player);
+        }, null, refreshTicks, refreshTicks);
+    }
+
+    private void refreshFromScoreboard(Player player) {
+        Team team = player.getScoreboard().getEntryTeam(player.getName());
+        teams.setTeam(player.getUniqueId(), team != null ? team.getName() : null);
+    }
+
+    /**
+     * Folia rejects scoreboard API calls from region threads.
+     */
+    private static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.rafalohaki.fireballs.listener;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.plugin.Plugin;
+import org.rafalohaki.fireballs.journal.EventJournal;
+import org.rafalohaki.fireballs.journal.JournalEventType;
+import org.rafalohaki.fireballs.sync.ClusterSync;
+import org.rafalohaki.fireballs.team.TeamRegistry;
+
+import java.util.UUID;
+
+/**
+ * Attributes explosion deaths to the shooter of a custom fireball: counts the
+ * kill, replicates it to other nodes and optionally broadcasts a kill message.
+ * Only registered while something consumes the attribution (kill messages or
+ * cluster sync), see {@link CustomFireballListener#isAttributionEnabled()}.
+ * Re-created on reload with a fresh settings snapshot.
+ *
+ * FOLIA SAFETY: PlayerDeathEvent runs on the victim's region thread; the
+ * shared stats and explosion sources are concurrent maps.
+ */
+public class KillAttributionListener implements Listener {
+
+    private final Plugin plugin;
+    private final CustomFireballListener fireballs;
+    private final EventJournal journal;
+    private final ClusterSync clusterSync;
+    private final TeamRegistry teams;
+
+    // Settings snapshot taken at registration
+    private final boolean killMessageEnabled;
+    private final String killMessageFormat;
+    private final boolean friendlyFireProtection;
+
+    public KillAttributionListener(Plugin plugin, CustomFireballListener fireballs, EventJournal journal,
+                                   ClusterSync clusterSync, TeamRegistry teams) {
+        this.plugin = plugin;
+        this.fireballs = fireballs;
+        this.journal = journal;
+        this.clusterSync = clusterSync;
+        this.teams = teams;
+        this.killMessageEnabled = plugin.getConfig().getBoolean("kill-message.enabled", true);
+        this.killMessageFormat = plugin.getConfig().getString("kill-message.format",
+                "&8[&42b22&8] &7Gracz &c<killer> &7zabil gracza &c<victim> &7uzywajac &6fireball");
+        this.friendlyFireProtection = plugin.getConfig().getBoolean("friendly-fire.protect-teammates", false);
+    }
+
+    /**
+     * Handles player death to send kill message if killed by custom fireball.
+     * Checks if the last damage was from an explosion near a tracked fireball location.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        Player victim = event.getEntity();
+        EntityDamageEvent lastDamage = victim.getLastDamageCause();
+
+        if (lastDamage == null) {
+            return;
+        }
+
+        // Check if death was from explosion
+        EntityDamageEvent.DamageCause cause = lastDamage.getCause();
+        if (cause != EntityDamageEvent.DamageCause.ENTITY_EXPLOSION
+                && cause != EntityDamageEvent.DamageCause.BLOCK_EXPLOSION) {
+            return;
+        }
+
+        // Find the killer from tracked explosion sources
+        Location deathLoc = victim.getLocation();
+        if (journal.isEnabled()) {
+            journal.record(JournalEventType.DEATH, deathLoc, victim.getUniqueId());
+        }
+        UUID shooterId = fireballs.findShooterNearLocation(deathLoc);
+
+        if (shooterId == null) {
+            return;
+        }
+
+        // Don't count or show message for self-kills
+        if (shooterId.equals(victim.getUniqueId())) {
+            return;
+        }
+
+        // Teammate kills are neither counted nor announced
+        if (friendlyFireProtection
+                && TeamRegistry.sameTeam(teams.teamOf(shooterId), teams.teamOf(victim.getUniqueId()))) {
+            return;
+        }
+
+        // Count the kill locally and replicate it to other nodes
+        fireballs.getKillStats().add(shooterId, 1L);
+        clusterSync.publishKill(shooterId);
+
+        if (!killMessageEnabled) {
+            return;
+        }
+
+        Player killer = plugin.getServer().getPlayer(shooterId);
+        if (killer == null) {
+            return; // Killer offline
+        }
+
+        // Format and broadcast kill message
+        Component killMessage = formatKillMessage(killer.getName(), victim.getName());
+        plugin.getServer().broadcast(killMessage);
+
+        // Optionally hide default death message
+        event.deathMessage(null);
+    }
+
+    /**
+     * Formats the kill message with killer and victim names.
+     * Supports both MiniMessage format and legacy color codes (&amp;).
+     */
+    private Component formatKillMessage(String killerName, String victimName) {
+        String message = killMessageFormat
+                .replace("<killer>", killerName)
+                .replace("<victim>", victimName);
+
+        // First try MiniMessage format, then fall back to legacy
+        if (message.contains("<") && message.contains(">")) {
+            try {
+                return MiniMessage.miniMessage().deserialize(message);
+            } catch (Exception e) {
+                // Fall through to legacy
+            }
+        }
+
+        // Use legacy color codes (&7, &c, etc.)
+        return LegacyComponentSerializer.legacyAmpersand().deserialize(message);
+    }
+}
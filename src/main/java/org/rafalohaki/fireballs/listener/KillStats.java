@@ -0,0 +1,34 @@
+package org.rafalohaki.fireballs.listener;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fireball kill counters per player.
+ * Local kills and kills replicated from other nodes are merged here.
+ *
+ * FOLIA THREAD SAFETY:
+ * - ConcurrentHashMap + LongAdder, increments never contend on a lock
+ */
+public final class KillStats {
+
+    private final ConcurrentHashMap<UUID, LongAdder> kills = new ConcurrentHashMap<>();
+
+    public void add(UUID playerId, long delta) {
+        kills.computeIfAbsent(playerId, id -> new LongAdder()).add(delta);
+    }
+
+    public long get(UUID playerId) {
+        LongAdder adder = kills.get(playerId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    public int size() {
+        return kills.size();
+    }
+
+    public void clear() {
+        kills.clear();
+    }
+}
@@ -0,0 +1,106 @@
+package org.rafalohaki.fireballs.listener;
+
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LargeFireball;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.Vector;
+import org.rafalohaki.fireballs.Keys;
+import org.rafalohaki.fireballs.api.FireballProfile;
+
+import java.util.logging.Level;
+
+/**
+ * Handles custom fireballs that outlived their in-memory TTL task.
+ *
+ * The TTL task lives on the EntityScheduler and is lost when the chunk unloads
+ * mid-flight or the server restarts, while the PDC tag is saved with the entity.
+ * When a chunk's entities load, every custom fireball in it is either removed
+ * (expiry tick passed) or has its flight lifecycle re-armed with the remaining ticks.
+ *
+ * Only the loaded chunk's own entity list is iterated - never whole worlds.
+ *
+ * Expired fireballs are removed inside the event, before they get a single tick
+ * to move, explode or cross into another region. Beyond reaper.batch-size per
+ * chunk the rest are frozen and removed over the next ticks.
+ *
+ * FOLIA SAFETY: EntitiesLoadEvent runs on the chunk's region thread; deferred
+ * removals run on each fireball's own EntityScheduler, so they follow the entity.
+ */
+public class OrphanedFireballReaper implements Listener {
+
+    private final Plugin plugin;
+    private final CustomFireballListener fireballs;
+    private final NamespacedKey fireballKey;
+    private final NamespacedKey expiryTickKey;
+    private final NamespacedKey profileKey;
+
+    // Max expired fireballs removed per tick per chunk
+    private final int batchSize;
+
+    public OrphanedFireballReaper(Plugin plugin, CustomFireballListener fireballs) {
+        this.plugin = plugin;
+        this.fireballs = fireballs;
+        Keys keys = new Keys(plugin);
+        this.fireballKey = keys.customFireballKey();
+        this.expiryTickKey = keys.expiryTickKey();
+        this.profileKey = keys.profileKey();
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("reaper.batch-size", 64));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        Chunk chunk = event.getChunk();
+        long now = chunk.getWorld().getGameTime();
+        int expired = 0;
+
+        for (Entity entity : event.getEntities()) {
+            if (!(entity instanceof LargeFireball fireball)) {
+                continue;
+            }
+            PersistentDataContainer pdc = fireball.getPersistentDataContainer();
+            if (!pdc.has(fireballKey, PersistentDataType.BYTE)) {
+                continue; // Not our fireball
+            }
+
+            FireballProfile profile = fireballs.getProfile(pdc.get(profileKey, PersistentDataType.STRING));
+            Long expiry = pdc.get(expiryTickKey, PersistentDataType.LONG);
+            if (expiry == null) {
+                // Spawned before expiry ticks were stored - give it a fresh TTL from its profile.
+                // Always re-armed: collision, homing and visibility tasks are lost on unload too
+                fireballs.armFlight(fireball, profile, profile.maxFlightTicks());
+                continue;
+            }
+
+            long remaining = expiry - now;
+            if (remaining > 0) {
+                fireballs.armFlight(fireball, profile, (int) Math.min(Integer.MAX_VALUE, remaining));
+                continue;
+            }
+
+            // Expired - never let it tick: no movement, detonation or region crossing
+            if (expired < batchSize) {
+                fireball.remove();
+            } else {
+                // Over this tick's budget - freeze it and remove it on its own scheduler
+                fireball.setVelocity(new Vector());
+                fireball.setAcceleration(new Vector());
+                fireball.getScheduler().runDelayed(plugin, task -> fireball.remove(), null,
+                        1L + expired / batchSize);
+            }
+            expired++;
+        }
+
+        if (expired > 0) {
+            plugin.getLogger().log(Level.FINE, "Removed {0} expired fireballs in chunk {1},{2}",
+                    new Object[]{expired, chunk.getX(), chunk.getZ()});
+        }
+    }
+}
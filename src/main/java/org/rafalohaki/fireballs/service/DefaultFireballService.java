@@ -0,0 +1,232 @@
+package org.rafalohaki.fireballs.service;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.LargeFireball;
+import org.bukkit.plugin.Plugin;
+import org.rafalohaki.fireballs.RegionGrid;
+import org.rafalohaki.fireballs.api.FireballHandle;
+import org.rafalohaki.fireballs.api.FireballLaunch;
+import org.rafalohaki.fireballs.api.FireballProfile;
+import org.rafalohaki.fireballs.api.FireballService;
+import org.rafalohaki.fireballs.listener.CustomFireballListener;
+import org.rafalohaki.fireballs.team.TeamRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Default {@link FireballService} registered by the plugin.
+ *
+ * FOLIA THREAD SAFETY:
+ * - Launches are grouped by world and {@link RegionGrid} section and each
+ *   group runs as one RegionScheduler task
+ * - Inside the task every origin is re-checked with isOwnedByCurrentRegion();
+ *   origins that ended up in another region are rescheduled individually
+ */
+public final class DefaultFireballService implements FireballService {
+
+    private final Plugin plugin;
+    private final CustomFireballListener listener;
+    private final TeamRegistry teams;
+
+    public DefaultFireballService(Plugin plugin, CustomFireballListener listener, TeamRegistry teams) {
+        this.plugin = plugin;
+        this.listener = listener;
+        this.teams = teams;
+    }
+
+    @Override
+    public FireballProfile profile(String name) {
+        return listener.getProfile(name);
+    }
+
+    @Override
+    public Collection<String> profileNames() {
+        return listener.getProfileNames();
+    }
+
+    @Override
+    public FireballHandle launch(FireballLaunch launch) {
+        return launchAll(List.of(launch)).get(0);
+    }
+
+    @Override
+    public List<FireballHandle> launchAll(Collection<FireballLaunch> launches) {
+        List<FireballHandle> handles = new ArrayList<>(launches.size());
+        Map<RegionKey, List<LaunchHandle>> groups = new HashMap<>();
+        for (FireballLaunch launch : launches) {
+            LaunchHandle handle = new LaunchHandle(launch);
+            handles.add(handle);
+            Location origin = launch.origin();
+            RegionKey key = new RegionKey(origin.getWorld().getUID(),
+                    RegionGrid.sectionOfBlock(origin.getBlockX()), RegionGrid.sectionOfBlock(origin.getBlockZ()));
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(handle);
+        }
+
+        // One scheduled task per region, not per projectile
+        for (List<LaunchHandle> group : groups.values()) {
+            Location anchor = group.get(0).launch().origin();
+            plugin.getServer().getRegionScheduler().run(plugin, anchor, task -> spawnGroup(group));
+        }
+        return handles;
+    }
+
+    @Override
+    public long kills(UUID playerId) {
+        return listener.getKillStats().get(playerId);
+    }
+
+    @Override
+    public void setTeam(UUID playerId, String teamName) {
+        teams.setTeam(playerId, teamName);
+    }
+
+    @Override
+    public void clearTeam(UUID playerId) {
+        teams.clearTeam(playerId);
+    }
+
+    private void spawnGroup(List<LaunchHandle> group) {
+        for (LaunchHandle handle : group) {
+            Location origin = handle.launch().origin();
+            if (Bukkit.isOwnedByCurrentRegion(origin)) {
+                spawn(handle);
+            } else {
+                // Section straddles a region border - fall back to the owning region
+                plugin.getServer().getRegionScheduler().run(plugin, origin, task -> spawn(handle));
+            }
+        }
+    }
+
+    private void spawn(LaunchHandle handle) {
+        if (!handle.beginSpawn()) {
+            return; // Cancelled while pending
+        }
+        FireballLaunch launch = handle.launch();
+        LargeFireball fireball;
+        try {
+            fireball = listener.spawnFireball(launch.origin(), launch.velocity(),
+                    listener.getProfile(launch.profile()), launch.shooter());
+        } catch (RuntimeException e) {
+            // Never leave the handle stuck in SPAWNING
+            plugin.getLogger().log(Level.WARNING, "Failed to spawn fireball at " + launch.origin(), e);
+            handle.fail(e);
+            return;
+        }
+        handle.complete(fireball);
+    }
+
+    private record RegionKey(UUID world, int sectionX, int sectionZ) {
+    }
+
+    /**
+     * Handle state machine:
+     * PENDING -> SPAWNING -> ACTIVE -> CANCELLED, PENDING -> CANCELLED,
+     * SPAWNING -> CANCELLED when the spawn fails, or
+     * SPAWNING -> CANCEL_REQUESTED -> CANCELLED when cancel() races the spawn.
+     * Every transition out of SPAWNING and ACTIVE is a CAS, so exactly one
+     * caller decides the outcome and a removal is scheduled at most once.
+     */
+    private final class LaunchHandle implements FireballHandle {
+
+        private static final int PENDING = 0;
+        private static final int SPAWNING = 1;
+        private static final int ACTIVE = 2;
+        private static final int CANCEL_REQUESTED = 3;
+        private static final int CANCELLED = 4;
+
+        private final FireballLaunch launch;
+        private final CompletableFuture<LargeFireball> spawned = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private volatile LargeFireball entity;
+
+        LaunchHandle(FireballLaunch launch) {
+            this.launch = launch;
+        }
+
+        @Override
+        public FireballLaunch launch() {
+            return launch;
+        }
+
+        @Override
+        public CompletableFuture<LargeFireball> spawned() {
+            return spawned;
+        }
+
+        @Override
+        public boolean isActive() {
+            return switch (state.get()) {
+                case PENDING, SPAWNING -> true;
+                case ACTIVE -> {
+                    LargeFireball fb = entity;
+                    yield fb != null && fb.isValid();
+                }
+                default -> false;
+            };
+        }
+
+        @Override
+        public boolean cancel() {
+            while (true) {
+                int current = state.get();
+                if (current == PENDING) {
+                    if (state.compareAndSet(PENDING, CANCELLED)) {
+                        spawned.complete(null);
+                        return true;
+                    }
+                } else if (current == SPAWNING) {
+                    // complete() sees the request and removes the fresh fireball
+                    if (state.compareAndSet(SPAWNING, CANCEL_REQUESTED)) {
+                        return true;
+                    }
+                } else if (current == ACTIVE) {
+                    if (!state.compareAndSet(ACTIVE, CANCELLED)) {
+                        continue;
+                    }
+                    LargeFireball fb = entity;
+                    // EntityScheduler returns null if the entity is already gone
+                    return fb != null && fb.getScheduler().run(plugin, task -> fb.remove(), null) != null;
+                } else {
+                    return false;
+                }
+            }
+        }
+
+        boolean beginSpawn() {
+            return state.compareAndSet(PENDING, SPAWNING);
+        }
+
+        void fail(Throwable error) {
+            state.set(CANCELLED);
+            spawned.completeExceptionally(error);
+        }
+
+        void complete(LargeFireball fireball) {
+            if (fireball == null) {
+                state.set(CANCELLED);
+                spawned.complete(null);
+                return;
+            }
+            // Publish the entity before ACTIVE so cancel() can always reach it
+            entity = fireball;
+            if (state.compareAndSet(SPAWNING, ACTIVE)) {
+                spawned.complete(fireball);
+                return;
+            }
+            // Cancel requested while spawning - runs on the fireball's region thread
+            fireball.remove();
+            entity = null;
+            state.set(CANCELLED);
+            spawned.complete(null);
+        }
+    }
+}
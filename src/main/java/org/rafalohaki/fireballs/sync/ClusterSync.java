@@ -0,0 +1,252 @@
+package org.rafalohaki.fireballs.sync;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.Plugin;
+import org.rafalohaki.fireballs.listener.CooldownTracker;
+import org.rafalohaki.fireballs.listener.KillStats;
+import org.rafalohaki.fireballs.sync.SyncCodec.Update;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replicates cooldown acquisitions and kill stat deltas between backend nodes.
+ *
+ * Region threads only enqueue updates (lock-free, never touches the network).
+ * A task on Paper's AsyncScheduler drains the queue every flush interval,
+ * coalesces it (latest cooldown per player, summed kill deltas) and sends
+ * compact binary frames through the configured {@link ClusterTransport}.
+ * Received frames are merged straight into the ConcurrentHashMaps.
+ * See {@link SyncCodec} for the frame format.
+ */
+public final class ClusterSync {
+
+    private final Plugin plugin;
+    private final Logger logger;
+    private final boolean enabled;
+    private final ClusterTransport transport;
+    private final long flushIntervalMillis;
+    private final int maxBatch;
+    private final int maxQueue;
+
+    // Random node id per start - lets a node ignore its own frames echoed back by the transport
+    private final SyncCodec codec = new SyncCodec(ThreadLocalRandom.current().nextInt());
+
+    private final ConcurrentLinkedQueue<Update> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Object flushLock = new Object();
+
+    private volatile CooldownTracker cooldowns;
+    private volatile KillStats killStats;
+    private volatile boolean running;
+    private ScheduledTask flushTask;
+
+    private ClusterSync(Plugin plugin, boolean enabled, ClusterTransport transport, long flushIntervalMillis,
+                        int maxBatch, int maxQueue) {
+        this.plugin = plugin;
+        this.logger = plugin.getLogger();
+        this.enabled = enabled;
+        this.transport = transport;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBatch = maxBatch;
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * Creates an enabled instance without a plugin for tests. Frames are only
+     * sent on explicit {@link #flush()} calls after {@link #startTransport}.
+     */
+    ClusterSync(Logger logger, ClusterTransport transport, int maxBatch, int maxQueue) {
+        this.plugin = null;
+        this.logger = logger;
+        this.enabled = true;
+        this.transport = transport;
+        this.flushIntervalMillis = 0L;
+        this.maxBatch = maxBatch;
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * Creates the sync layer from the "cluster-sync" config section.
+     * Returns a disabled instance if the section is missing or disabled.
+     */
+    public static ClusterSync fromConfig(Plugin plugin) {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("cluster-sync");
+        if (section == null || !section.getBoolean("enabled", false)) {
+            return new ClusterSync(plugin, false, null, 0L, 0, 0);
+        }
+
+        String channel = section.getString("channel", "FireballsSync");
+        String type = section.getString("transport", "plugin-messaging");
+        ClusterTransport transport = switch (type.toLowerCase()) {
+            case "tcp" -> createTcpTransport(plugin, section);
+            case "loopback" -> new LoopbackTransport(channel);
+            case "plugin-messaging" -> new PluginMessageTransport(plugin, channel);
+            default -> {
+                plugin.getLogger().log(Level.WARNING, "Unknown cluster-sync transport {0}, sync disabled", type);
+                yield null;
+            }
+        };
+        if (transport == null) {
+            return new ClusterSync(plugin, false, null, 0L, 0, 0);
+        }
+
+        return new ClusterSync(plugin, true, transport,
+                Math.max(1L, section.getLong("flush-interval-ms", 50L)),
+                Math.max(1, section.getInt("max-batch", 512)),
+                Math.max(1, section.getInt("max-queue", 8192)));
+    }
+
+    private static ClusterTransport createTcpTransport(Plugin plugin, ConfigurationSection section) {
+        InetSocketAddress bind = new InetSocketAddress(section.getString("tcp.bind", "127.0.0.1"),
+                section.getInt("tcp.port", 25590));
+        List<InetSocketAddress> peers = new ArrayList<>();
+        for (String peer : section.getStringList("tcp.peers")) {
+            int colon = peer.lastIndexOf(':');
+            if (colon <= 0) {
+                plugin.getLogger().log(Level.WARNING, "Invalid cluster-sync peer (expected host:port): {0}", peer);
+                continue;
+            }
+            peers.add(new InetSocketAddress(peer.substring(0, colon), Integer.parseInt(peer.substring(colon + 1))));
+        }
+        return new TcpPeerTransport(plugin, bind, peers, section.getString("tcp.secret", ""),
+                section.getInt("tcp.max-connections", 8));
+    }
+
+    public boolean isEnabled() {
+        return enabled && running;
+    }
+
+    /**
+     * Starts the transport and the flush task. No-op if sync is disabled.
+     *
+     * @param cooldowns Tracker receiving remote cooldown acquisitions
+     * @param killStats Stats receiving remote kill deltas
+     */
+    public void start(CooldownTracker cooldowns, KillStats killStats) {
+        if (!enabled || !startTransport(cooldowns, killStats)) {
+            return;
+        }
+        flushTask = plugin.getServer().getAsyncScheduler().runAtFixedRate(plugin, task -> flush(),
+                flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        logger.log(Level.INFO, "Cluster sync enabled ({0})", transport.getClass().getSimpleName());
+    }
+
+    /**
+     * Starts the transport and begins accepting updates, without a flush task.
+     *
+     * @return false if the transport could not be started
+     */
+    boolean startTransport(CooldownTracker cooldowns, KillStats killStats) {
+        this.cooldowns = cooldowns;
+        this.killStats = killStats;
+        try {
+            transport.start(this::receive);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Could not start cluster sync transport, sync disabled", e);
+            return false;
+        }
+        running = true;
+        return true;
+    }
+
+    /**
+     * Queues a local cooldown acquisition for replication. Never blocks.
+     */
+    public void publishCooldown(UUID playerId, long useTime) {
+        enqueue(new Update(SyncCodec.TYPE_COOLDOWN, playerId, useTime));
+    }
+
+    /**
+     * Queues a local fireball kill for replication. Never blocks.
+     */
+    public void publishKill(UUID playerId) {
+        enqueue(new Update(SyncCodec.TYPE_KILLS, playerId, 1L));
+    }
+
+    private void enqueue(Update update) {
+        if (!running) {
+            return;
+        }
+        // Bounded queue - if the transport stalls, drop instead of growing forever
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(update);
+    }
+
+    /**
+     * Drains, coalesces and sends queued updates.
+     * Runs on the AsyncScheduler - never on a region thread.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            if (queue.isEmpty()) {
+                return;
+            }
+
+            List<Update> drained = new ArrayList<>();
+            Update update;
+            while ((update = queue.poll()) != null) {
+                queued.decrementAndGet();
+                drained.add(update);
+            }
+
+            long baseTime = System.currentTimeMillis();
+            List<Update> entries = SyncCodec.coalesce(drained, baseTime);
+            for (int from = 0; from < entries.size(); from += maxBatch) {
+                transport.send(codec.encode(baseTime, entries.subList(from, Math.min(entries.size(), from + maxBatch))));
+            }
+
+            long lost = dropped.getAndSet(0L);
+            if (lost > 0) {
+                logger.log(Level.WARNING, "Cluster sync queue full, dropped {0} updates", lost);
+            }
+        }
+    }
+
+    /**
+     * Merges a frame received from another node.
+     * Runs on a transport thread - only touches concurrent maps.
+     */
+    private void receive(byte[] frame) {
+        try {
+            codec.decode(frame, cooldowns, killStats);
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "Malformed cluster sync frame", e);
+        }
+    }
+
+    /**
+     * Stops the flush task, sends what is still queued and closes the transport.
+     * MUST be called in onDisable().
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        flush();
+        running = false;
+        synchronized (flushLock) {
+            transport.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.rafalohaki.fireballs.sync;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Carries encoded sync frames between backend nodes.
+ *
+ * Implementations are only ever called from the sync flush thread (send) and
+ * deliver received frames on their own threads - never on a region thread.
+ */
+public interface ClusterTransport {
+
+    /**
+     * Starts the transport.
+     *
+     * @param receiver Called with every frame received from another node
+     */
+    void start(Consumer<byte[]> receiver) throws IOException;
+
+    /**
+     * Sends a frame to all other nodes. Best effort - may drop the frame if no
+     * route is currently available.
+     */
+    void send(byte[] frame);
+
+    /**
+     * Stops the transport and releases its resources.
+     */
+    void close();
+}
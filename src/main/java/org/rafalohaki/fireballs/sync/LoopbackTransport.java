@@ -0,0 +1,53 @@
+package org.rafalohaki.fireballs.sync;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport for tests and local experiments.
+ * Every loopback transport on the same channel name receives the frames sent
+ * by the others, as if they were separate nodes.
+ */
+public final class LoopbackTransport implements ClusterTransport {
+
+    private static final Map<String, List<LoopbackTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<byte[]> receiver;
+
+    public LoopbackTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, k -> new CopyOnWriteArrayList<>()).add(this);
+    }
+
+    @Override
+    public void send(byte[] frame) {
+        List<LoopbackTransport> peers = CHANNELS.get(channel);
+        if (peers == null) {
+            return;
+        }
+        for (LoopbackTransport peer : peers) {
+            Consumer<byte[]> peerReceiver = peer.receiver;
+            if (peer != this && peerReceiver != null) {
+                peerReceiver.accept(frame);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        List<LoopbackTransport> peers = CHANNELS.get(channel);
+        if (peers != null) {
+            peers.remove(this);
+        }
+        receiver = null;
+    }
+}
@@ -0,0 +1,95 @@
+package org.rafalohaki.fireballs.sync;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Transport over the proxy's "BungeeCord" plugin messaging channel
+ * (supported by BungeeCord and Velocity) using the Forward subchannel.
+ *
+ * Limitation of plugin messaging: a frame can only leave a node that has at
+ * least one player online, and only reaches nodes that have one too. That is
+ * exactly the case that matters for cooldowns - players switching servers.
+ */
+public final class PluginMessageTransport implements ClusterTransport, PluginMessageListener {
+
+    private static final String PROXY_CHANNEL = "BungeeCord";
+    // Proxy forwarded payloads are limited to a short length prefix
+    private static final int MAX_FRAME = Short.MAX_VALUE;
+
+    private final Plugin plugin;
+    private final String subchannel;
+    private volatile Consumer<byte[]> receiver;
+
+    public PluginMessageTransport(Plugin plugin, String subchannel) {
+        this.plugin = plugin;
+        this.subchannel = subchannel;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) {
+        this.receiver = receiver;
+        plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, PROXY_CHANNEL);
+        plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, PROXY_CHANNEL, this);
+    }
+
+    @Override
+    public void send(byte[] frame) {
+        if (frame.length > MAX_FRAME) {
+            plugin.getLogger().log(Level.WARNING, "Sync frame too large for plugin messaging: {0} bytes", frame.length);
+            return;
+        }
+        Iterator<? extends Player> players = plugin.getServer().getOnlinePlayers().iterator();
+        if (!players.hasNext()) {
+            return; // No connection to the proxy to send through
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(frame.length + 32);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF("Forward");
+            out.writeUTF("ALL");
+            out.writeUTF(subchannel);
+            out.writeShort(frame.length);
+            out.write(frame);
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            return;
+        }
+        players.next().sendPluginMessage(plugin, PROXY_CHANNEL, bytes.toByteArray());
+    }
+
+    @Override
+    public void onPluginMessageReceived(String channel, Player player, byte[] message) {
+        Consumer<byte[]> target = receiver;
+        if (target == null || !PROXY_CHANNEL.equals(channel)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(message))) {
+            if (!subchannel.equals(in.readUTF())) {
+                return; // Someone else's forwarded message
+            }
+            byte[] frame = new byte[in.readUnsignedShort()];
+            in.readFully(frame);
+            target.accept(frame);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.FINE, "Malformed forwarded sync message", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        receiver = null;
+        plugin.getServer().getMessenger().unregisterIncomingPluginChannel(plugin, PROXY_CHANNEL, this);
+        plugin.getServer().getMessenger().unregisterOutgoingPluginChannel(plugin, PROXY_CHANNEL);
+    }
+}
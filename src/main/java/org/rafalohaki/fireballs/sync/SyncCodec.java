@@ -0,0 +1,142 @@
+package org.rafalohaki.fireballs.sync;
+
+import org.rafalohaki.fireballs.listener.CooldownTracker;
+import org.rafalohaki.fireballs.listener.KillStats;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Binary frame format of {@link ClusterSync}.
+ * Has no Bukkit dependencies so frames can be tested without a server.
+ *
+ * FRAME FORMAT:
+ * - magic (1), version (1), node id (4), base time varlong, entry count varlong
+ * - entry: type (1), player UUID (16), value varlong
+ *   (cooldown: base time minus use time; kills: delta)
+ */
+final class SyncCodec {
+
+    static final byte MAGIC = (byte) 0xFB;
+    static final byte VERSION = 1;
+    static final byte TYPE_COOLDOWN = 1;
+    static final byte TYPE_KILLS = 2;
+    // Worst case entry: type + UUID + 10 byte varlong
+    private static final int MAX_ENTRY_SIZE = 27;
+    // Best case entry: type + UUID + 1 byte varlong
+    private static final int MIN_ENTRY_SIZE = 18;
+    private static final int HEADER_SIZE = 26;
+
+    /**
+     * One queued change. Local cooldowns carry the use time; on the wire
+     * they carry the age relative to the frame's base time.
+     */
+    record Update(byte type, UUID playerId, long value) {
+    }
+
+    private final int nodeId;
+
+    SyncCodec(int nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Coalesces drained updates into wire entries: latest cooldown per player,
+     * summed kill deltas.
+     */
+    static List<Update> coalesce(List<Update> drained, long baseTime) {
+        Map<UUID, Long> latestCooldown = new HashMap<>();
+        Map<UUID, Long> killDeltas = new HashMap<>();
+        for (Update update : drained) {
+            if (update.type() == TYPE_COOLDOWN) {
+                latestCooldown.merge(update.playerId(), update.value(), Math::max);
+            } else {
+                killDeltas.merge(update.playerId(), update.value(), Long::sum);
+            }
+        }
+
+        List<Update> entries = new ArrayList<>(latestCooldown.size() + killDeltas.size());
+        latestCooldown.forEach((id, time) -> entries.add(new Update(TYPE_COOLDOWN, id, Math.max(0L, baseTime - time))));
+        killDeltas.forEach((id, delta) -> entries.add(new Update(TYPE_KILLS, id, delta)));
+        return entries;
+    }
+
+    byte[] encode(long baseTime, List<Update> entries) {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + entries.size() * MAX_ENTRY_SIZE);
+        buf.put(MAGIC).put(VERSION).putInt(nodeId);
+        putVarLong(buf, baseTime);
+        putVarLong(buf, entries.size());
+        for (Update entry : entries) {
+            buf.put(entry.type())
+                    .putLong(entry.playerId().getMostSignificantBits())
+                    .putLong(entry.playerId().getLeastSignificantBits());
+            putVarLong(buf, entry.value());
+        }
+        byte[] frame = new byte[buf.position()];
+        buf.flip().get(frame);
+        return frame;
+    }
+
+    /**
+     * Merges a frame from another node into the local state.
+     * The whole frame is parsed before anything is applied, so a truncated or
+     * malformed frame leaves the local state untouched.
+     *
+     * @return false if the frame is our own or of an unknown format
+     * @throws RuntimeException if the frame is truncated or malformed
+     */
+    boolean decode(byte[] frame, CooldownTracker cooldowns, KillStats killStats) {
+        ByteBuffer buf = ByteBuffer.wrap(frame);
+        if (buf.get() != MAGIC || buf.get() != VERSION) {
+            return false;
+        }
+        if (buf.getInt() == nodeId) {
+            return false; // Our own frame
+        }
+        long baseTime = getVarLong(buf);
+        long count = getVarLong(buf);
+        // Every entry takes at least 18 bytes - rejects absurd counts before allocating
+        if (count < 0 || count > buf.remaining() / MIN_ENTRY_SIZE) {
+            throw new IllegalStateException("Invalid entry count " + count);
+        }
+        List<Update> entries = new ArrayList<>((int) count);
+        for (long i = 0; i < count; i++) {
+            byte type = buf.get();
+            UUID playerId = new UUID(buf.getLong(), buf.getLong());
+            entries.add(new Update(type, playerId, getVarLong(buf)));
+        }
+
+        for (Update entry : entries) {
+            if (entry.type() == TYPE_COOLDOWN) {
+                cooldowns.applyRemote(entry.playerId(), baseTime - entry.value());
+            } else if (entry.type() == TYPE_KILLS) {
+                killStats.add(entry.playerId(), entry.value());
+            }
+        }
+        return true;
+    }
+
+    private static void putVarLong(ByteBuffer buf, long value) {
+        while ((value & ~0x7FL) != 0L) {
+            buf.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buf.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buf) {
+        long result = 0L;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buf.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalStateException("VarLong too long");
+    }
+}
@@ -0,0 +1,363 @@
+package org.rafalohaki.fireballs.sync;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Direct TCP links between backend nodes.
+ *
+ * Every node listens on its own port and keeps one outbound connection per
+ * configured peer. Frames are length-prefixed.
+ *
+ * SECURITY:
+ * - Each inbound connection must answer a random challenge with
+ *   HMAC-SHA256(secret, nonce) before any frame is read; the secret itself
+ *   never crosses the wire and the answer is compared in constant time
+ * - Refuses to start with an empty secret or the one shipped in config.yml
+ * - Frames are authenticated at connect time only, not encrypted - keep the
+ *   link on a private network (the bind address defaults to loopback)
+ *
+ * THREADING: send() only hands the frame to one writer thread per peer,
+ * each with a small bounded queue, so the sync flush thread never waits on
+ * the network. Connecting, the handshake and writes happen on the writer; an
+ * unreachable or stalled peer only delays its own frames and drops them once
+ * its queue is full. Inbound connections are read on a fixed daemon pool and
+ * connections beyond its size are refused.
+ */
+public final class TcpPeerTransport implements ClusterTransport {
+
+    private static final int MAX_FRAME = 1 << 20;
+    private static final int CONNECT_TIMEOUT_MS = 1000;
+    private static final long RECONNECT_DELAY_MS = 5000L;
+    private static final int HANDSHAKE_TIMEOUT_MS = 5000;
+    private static final int NONCE_SIZE = 32;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // Frames buffered per peer while it is (re)connecting or slow
+    private static final int PEER_QUEUE_FRAMES = 64;
+    private static final long POLL_MS = 100L;
+    // How long close() waits for writers to send what is still queued
+    private static final long DRAIN_TIMEOUT_MS = 1000L;
+
+    // Placeholder shipped in config.yml - never accepted
+    public static final String DEFAULT_SECRET = "zmien-mnie";
+
+    private final Plugin plugin;
+    private final InetSocketAddress bindAddress;
+    private final List<InetSocketAddress> peers;
+    private final byte[] secret;
+    private final int maxConnections;
+    private final SecureRandom random = new SecureRandom();
+
+    private final List<PeerWriter> writers = new ArrayList<>();
+    private final Set<Socket> inbound = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+    private ExecutorService readers;
+    private Consumer<byte[]> receiver;
+
+    /**
+     * @param maxConnections Inbound connections read concurrently; further ones are refused
+     */
+    public TcpPeerTransport(Plugin plugin, InetSocketAddress bindAddress, List<InetSocketAddress> peers,
+                            String secret, int maxConnections) {
+        this.plugin = plugin;
+        this.bindAddress = bindAddress;
+        this.peers = List.copyOf(peers);
+        this.secret = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        this.maxConnections = Math.max(1, maxConnections);
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver) throws IOException {
+        String configured = new String(secret, StandardCharsets.UTF_8);
+        if (configured.isBlank() || configured.equals(DEFAULT_SECRET)) {
+            throw new IOException("cluster-sync.tcp.secret is empty or still the default - set a unique secret");
+        }
+        try {
+            hmac(new byte[NONCE_SIZE]);
+        } catch (IOException e) {
+            throw new IOException(HMAC_ALGORITHM + " unavailable", e);
+        }
+
+        this.receiver = receiver;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(bindAddress);
+        this.readers = Executors.newFixedThreadPool(maxConnections, runnable -> {
+            Thread reader = new Thread(runnable, "Fireballs-Sync-Read");
+            reader.setDaemon(true);
+            return reader;
+        });
+        running = true;
+
+        for (InetSocketAddress peer : peers) {
+            PeerWriter writer = new PeerWriter(peer);
+            writers.add(writer);
+            writer.thread.start();
+        }
+        Thread acceptor = new Thread(this::acceptLoop, "Fireballs-Sync-Accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                if (inbound.size() >= maxConnections) {
+                    plugin.getLogger().log(Level.WARNING, "Refused sync connection from {0}: {1} connections open",
+                            new Object[]{socket.getRemoteSocketAddress(), inbound.size()});
+                    socket.close();
+                    continue;
+                }
+                inbound.add(socket);
+                readers.execute(() -> readLoop(socket));
+            } catch (IOException e) {
+                if (running) {
+                    plugin.getLogger().log(Level.WARNING, "Sync accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        try (socket; DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            if (!authenticate(socket, in)) {
+                plugin.getLogger().log(Level.WARNING, "Rejected sync connection from {0}", socket.getRemoteSocketAddress());
+                return;
+            }
+            while (running) {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_FRAME) {
+                    throw new IOException("Invalid frame length " + length);
+                }
+                byte[] frame = new byte[length];
+                in.readFully(frame);
+                receiver.accept(frame);
+            }
+        } catch (IOException e) {
+            if (running) {
+                plugin.getLogger().log(Level.FINE, "Sync peer disconnected", e);
+            }
+        } finally {
+            inbound.remove(socket);
+        }
+    }
+
+    /**
+     * Server side of the handshake: sends a fresh nonce and checks the peer's MAC of it.
+     */
+    private boolean authenticate(Socket socket, DataInputStream in) throws IOException {
+        socket.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+        byte[] nonce = new byte[NONCE_SIZE];
+        random.nextBytes(nonce);
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        out.write(nonce);
+        out.flush();
+
+        byte[] answer = new byte[NONCE_SIZE];
+        in.readFully(answer);
+        socket.setSoTimeout(0);
+        return MessageDigest.isEqual(hmac(nonce), answer);
+    }
+
+    private byte[] hmac(byte[] nonce) throws IOException {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret, HMAC_ALGORITHM));
+            return mac.doFinal(nonce);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IOException("Sync handshake failed", e);
+        }
+    }
+
+    @Override
+    public void send(byte[] frame) {
+        for (PeerWriter writer : writers) {
+            if (!writer.frames.offer(frame)) {
+                plugin.getLogger().log(Level.FINE, "Sync queue for {0} full, frame dropped", writer.peer);
+            }
+        }
+    }
+
+    /**
+     * Owns the outbound connection to one peer. Only its own thread touches the stream.
+     */
+    private final class PeerWriter implements Runnable {
+
+        final InetSocketAddress peer;
+        final BlockingQueue<byte[]> frames = new ArrayBlockingQueue<>(PEER_QUEUE_FRAMES);
+        final Thread thread;
+        // Published so close() can abort a blocked connect or write
+        volatile Socket socket;
+        private DataOutputStream out;
+
+        PeerWriter(InetSocketAddress peer) {
+            this.peer = peer;
+            this.thread = new Thread(this, "Fireballs-Sync-Write-" + peer);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    // After close() keep draining until the queue is empty
+                    byte[] frame = running ? frames.poll(POLL_MS, TimeUnit.MILLISECONDS) : frames.poll();
+                    if (frame == null) {
+                        if (!running) {
+                            break;
+                        }
+                        continue;
+                    }
+                    if (out == null && !connect()) {
+                        if (!running) {
+                            break;
+                        }
+                        // Peer down - drop what queued up during the attempt and back off
+                        Thread.sleep(RECONNECT_DELAY_MS);
+                        frames.clear();
+                        continue;
+                    }
+                    write(frame);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                disconnect();
+            }
+        }
+
+        private void write(byte[] frame) {
+            try {
+                out.writeInt(frame.length);
+                out.write(frame);
+                // Coalesce queued frames into one flush
+                if (frames.isEmpty()) {
+                    out.flush();
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.FINE, "Sync send to {0} failed", peer);
+                disconnect();
+            }
+        }
+
+        private boolean connect() {
+            Socket attempt = new Socket();
+            socket = attempt;
+            try {
+                attempt.setTcpNoDelay(true);
+                attempt.connect(peer, CONNECT_TIMEOUT_MS);
+                // Answer the peer's challenge before sending any frame
+                attempt.setSoTimeout(HANDSHAKE_TIMEOUT_MS);
+                byte[] nonce = new byte[NONCE_SIZE];
+                new DataInputStream(attempt.getInputStream()).readFully(nonce);
+                attempt.setSoTimeout(0);
+                out = new DataOutputStream(new BufferedOutputStream(attempt.getOutputStream()));
+                out.write(hmac(nonce));
+                return true;
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.FINE, "Sync peer {0} unreachable", peer);
+                disconnect();
+                return false;
+            }
+        }
+
+        void disconnect() {
+            if (out != null) {
+                closeQuietly(out);
+                out = null;
+            }
+            Socket current = socket;
+            socket = null;
+            if (current != null) {
+                try {
+                    current.close();
+                } catch (IOException ignored) {
+                    // Connection already broken
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (readers != null) {
+            readers.shutdownNow();
+        }
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+                // Shutting down
+            }
+        }
+        // Writers send what is still queued, bounded by the drain timeout
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MS);
+        for (PeerWriter writer : writers) {
+            long left = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                writer.thread.join(Math.max(1L, left));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (PeerWriter writer : writers) {
+            if (writer.thread.isAlive()) {
+                Socket socket = writer.socket;
+                if (socket != null) {
+                    try {
+                        socket.close();
+                    } catch (IOException ignored) {
+                        // Shutting down
+                    }
+                }
+                writer.thread.interrupt();
+            }
+        }
+        writers.clear();
+        for (Socket socket : inbound) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Shutting down
+            }
+        }
+        inbound.clear();
+    }
+
+    private static void closeQuietly(DataOutputStream out) {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Connection already broken
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.rafalohaki.fireballs.team;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compact team membership for friendly-fire filtering.
+ *
+ * Team names are interned to small integer ids once; each player maps to one
+ * id. The explosion damage path then compares two ints per victim instead of
+ * looking up scoreboard teams.
+ *
+ * FOLIA THREAD SAFETY:
+ * - ConcurrentHashMap for memberships (updated from any thread)
+ */
+public final class TeamRegistry {
+
+    public static final int NO_TEAM = 0;
+
+    private final ConcurrentHashMap<String, Integer> teamIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextTeamId = new AtomicInteger(NO_TEAM + 1);
+    private final ConcurrentHashMap<UUID, Integer> playerTeams = new ConcurrentHashMap<>();
+
+    /**
+     * Puts the player in the named team, or removes them from any team if name is null.
+     */
+    public void setTeam(UUID playerId, String teamName) {
+        if (teamName == null) {
+            playerTeams.remove(playerId);
+            return;
+        }
+        int id = teamIds.computeIfAbsent(teamName, name -> nextTeamId.getAndIncrement());
+        playerTeams.put(playerId, id);
+    }
+
+    public void clearTeam(UUID playerId) {
+        playerTeams.remove(playerId);
+    }
+
+    /**
+     * @return the player's team id, or {@link #NO_TEAM}
+     */
+    public int teamOf(UUID playerId) {
+        if (playerId == null) {
+            return NO_TEAM;
+        }
+        Integer id = playerTeams.get(playerId);
+        return id != null ? id : NO_TEAM;
+    }
+
+    /**
+     * @return true if both ids name the same real team
+     */
+    public static boolean sameTeam(int a, int b) {
+        return a != NO_TEAM && a == b;
+    }
+
+    public void clear() {
+        playerTeams.clear();
+        teamIds.clear();
+    }
+}
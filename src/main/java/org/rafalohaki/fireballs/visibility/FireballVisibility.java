@@ -0,0 +1,284 @@
+package org.rafalohaki.fireballs.visibility;
+
+import com.github.retrooper.packetevents.event.PacketListener;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.packettype.PacketTypeCommon;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityPositionSync;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityTeleport;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityVelocity;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.LargeFireball;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.util.BoundingBox;
+import org.rafalohaki.fireballs.api.FireballProfile;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player tracking culling for custom fireballs.
+ *
+ * Fireballs whose profile sets a tracking radius are spawned hidden
+ * (Paper entity-visibility API) and only shown to players that are within the
+ * radius, not spectating (optional) and in the same arena. The viewer set is
+ * refreshed from the fireball's flight lifecycle every refresh-ticks; the
+ * radius is widened by the distance the fireball covers until the next
+ * refresh, so fast fireballs are shown before they reach a player.
+ *
+ * Viewers further than distant-range only receive every Nth absolute
+ * velocity, position sync or teleport packet (PacketEvents send filter).
+ * Since 1.21.2 the periodic absolute resync is sent as ENTITY_POSITION_SYNC;
+ * ENTITY_TELEPORT is only left for real teleports. Each fireball/viewer
+ * pair gets its own tick slot, so distant updates are spread over the
+ * interval instead of bursting on one tick. Relative move packets are never
+ * dropped, so the client position cannot drift.
+ *
+ * FOLIA THREAD SAFETY:
+ * - track/refresh run on the fireball's region thread; players are only shown
+ *   or hidden while both are owned by that region, a hide for a player in
+ *   another region is retried on a later refresh
+ * - the packet filter runs on netty threads and only reads the
+ *   ConcurrentHashMap, immutable per-track viewer sets and the tick counter
+ */
+public final class FireballVisibility implements PacketListener {
+
+    /**
+     * Configured arena - fireballs are only shown to players in the arena they were fired in.
+     */
+    private record Arena(String name, String world, BoundingBox box) {
+    }
+
+    /**
+     * Per-fireball visibility state. Only mutated on the fireball's region thread.
+     */
+    private static final class Track {
+        final double radiusSquared;
+        final String arena;
+        final Set<UUID> shown = new HashSet<>();
+        // Replaced as a whole - read by netty threads
+        volatile Set<UUID> distant = Set.of();
+
+        Track(double radius, String arena) {
+            this.radiusSquared = radius * radius;
+            this.arena = arena;
+        }
+    }
+
+    private final Plugin plugin;
+
+    // Entity id -> track, read by the packet filter
+    private final ConcurrentHashMap<Integer, Track> tracks = new ConcurrentHashMap<>();
+
+    // Server tick as seen by the global region (single writer), read by the packet filter
+    private volatile long tick;
+    private ScheduledTask tickTask;
+
+    private volatile boolean hideFromSpectators;
+    private volatile int refreshTicks;
+    private volatile double distantRangeSquared;
+    private volatile int distantUpdateInterval;
+    private volatile List<Arena> arenas = List.of();
+
+    public FireballVisibility(Plugin plugin) {
+        this.plugin = plugin;
+        reload();
+    }
+
+    /**
+     * Loads the "visibility" config section.
+     */
+    public void reload() {
+        ConfigurationSection section = plugin.getConfig().getConfigurationSection("visibility");
+        if (section == null) {
+            section = plugin.getConfig().createSection("visibility");
+        }
+        this.hideFromSpectators = section.getBoolean("hide-from-spectators", true);
+        this.refreshTicks = Math.max(1, section.getInt("refresh-ticks", 2));
+        double distantRange = section.getDouble("distant-range", 32.0);
+        this.distantRangeSquared = distantRange * distantRange;
+        this.distantUpdateInterval = Math.max(1, section.getInt("distant-update-interval", 4));
+
+        List<Arena> loaded = new ArrayList<>();
+        ConfigurationSection arenaSection = section.getConfigurationSection("arenas");
+        if (arenaSection != null) {
+            for (String name : arenaSection.getKeys(false)) {
+                ConfigurationSection a = arenaSection.getConfigurationSection(name);
+                if (a == null) {
+                    continue;
+                }
+                List<Double> min = a.getDoubleList("min");
+                List<Double> max = a.getDoubleList("max");
+                if (min.size() != 3 || max.size() != 3) {
+                    plugin.getLogger().warning("Arena " + name + " needs min and max as [x, y, z], skipping");
+                    continue;
+                }
+                loaded.add(new Arena(name, a.getString("world", "world"),
+                        new BoundingBox(min.get(0), min.get(1), min.get(2), max.get(0), max.get(1), max.get(2))));
+            }
+        }
+        this.arenas = List.copyOf(loaded);
+    }
+
+    /**
+     * Starts the tick counter used to slot distant updates.
+     */
+    public void start() {
+        tickTask = plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, task -> tick++, 1L, 1L);
+    }
+
+    /**
+     * @return true if fireballs of this profile are culled per player
+     */
+    public boolean isCulled(FireballProfile profile) {
+        return profile.trackingRadius() > 0.0;
+    }
+
+    /**
+     * @return how often the lifecycle should call {@link #refresh}
+     */
+    public int getRefreshTicks() {
+        return refreshTicks;
+    }
+
+    /**
+     * Hides the fireball by default and shows it to the players currently eligible.
+     * Called from the spawn callback and when a fireball is re-armed after loading.
+     * Must run on the fireball's region thread.
+     */
+    public void track(LargeFireball fb, FireballProfile profile) {
+        fb.setVisibleByDefault(false);
+        Track track = new Track(profile.trackingRadius(), arenaAt(fb.getLocation()));
+        tracks.put(fb.getEntityId(), track);
+        refresh(fb);
+    }
+
+    /**
+     * Recomputes who may see the fireball and which viewers are distant.
+     * Must run on the fireball's region thread.
+     */
+    public void refresh(LargeFireball fb) {
+        Track track = tracks.get(fb.getEntityId());
+        if (track == null) {
+            return;
+        }
+
+        Location loc = fb.getLocation();
+        Set<UUID> eligible = new HashSet<>();
+        Set<UUID> distant = null;
+        // Look ahead by the distance covered until the next refresh
+        double reach = Math.sqrt(track.radiusSquared) + fb.getVelocity().length() * refreshTicks;
+        // Region-local lookup - returned players are owned by this region thread
+        for (Player player : loc.getWorld().getNearbyPlayers(loc, reach)) {
+            if (!canSee(player, track)) {
+                continue;
+            }
+            UUID id = player.getUniqueId();
+            eligible.add(id);
+            if (track.shown.add(id)) {
+                player.showEntity(plugin, fb);
+            }
+            if (player.getLocation().distanceSquared(loc) > distantRangeSquared) {
+                if (distant == null) {
+                    distant = new HashSet<>();
+                }
+                distant.add(id);
+            }
+        }
+        track.distant = distant == null ? Set.of() : Set.copyOf(distant);
+
+        // Hide from players that left the radius, changed arena or started spectating
+        track.shown.removeIf(id -> {
+            if (eligible.contains(id)) {
+                return false;
+            }
+            Player player = Bukkit.getPlayer(id);
+            if (player == null) {
+                return true; // Offline - Paper forgets its hidden entities
+            }
+            if (!Bukkit.isOwnedByCurrentRegion(player)) {
+                return false; // Player in another region - retry once both are owned here
+            }
+            player.hideEntity(plugin, fb);
+            return true;
+        });
+    }
+
+    /**
+     * Forgets a fireball. Called when its lifecycle ends.
+     */
+    public void untrack(int entityId) {
+        tracks.remove(entityId);
+    }
+
+    private boolean canSee(Player player, Track track) {
+        if (hideFromSpectators && player.getGameMode() == GameMode.SPECTATOR) {
+            return false;
+        }
+        String arena = arenaAt(player.getLocation());
+        return arena == null ? track.arena == null : arena.equals(track.arena);
+    }
+
+    private String arenaAt(Location loc) {
+        List<Arena> current = arenas;
+        if (current.isEmpty()) {
+            return null;
+        }
+        String world = loc.getWorld().getName();
+        for (Arena arena : current) {
+            if (arena.world().equals(world) && arena.box().contains(loc.getX(), loc.getY(), loc.getZ())) {
+                return arena.name();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops most absolute movement packets of culled fireballs for distant viewers.
+     * Runs on netty threads.
+     */
+    @Override
+    public void onPacketSend(PacketSendEvent event) {
+        if (tracks.isEmpty()) {
+            return;
+        }
+        PacketTypeCommon type = event.getPacketType();
+        int entityId;
+        if (type == PacketType.Play.Server.ENTITY_VELOCITY) {
+            entityId = new WrapperPlayServerEntityVelocity(event).getEntityId();
+        } else if (type == PacketType.Play.Server.ENTITY_POSITION_SYNC) {
+            entityId = new WrapperPlayServerEntityPositionSync(event).getId();
+        } else if (type == PacketType.Play.Server.ENTITY_TELEPORT) {
+            entityId = new WrapperPlayServerEntityTeleport(event).getEntityId();
+        } else {
+            return;
+        }
+
+        Track track = tracks.get(entityId);
+        if (track == null || !track.distant.contains(event.getUser().getUUID())) {
+            return;
+        }
+        // Forward only on every Nth server tick, offset per fireball and viewer
+        UUID viewer = event.getUser().getUUID();
+        if (Math.floorMod(tick + entityId + viewer.hashCode(), distantUpdateInterval) != 0) {
+            event.setCancelled(true);
+        }
+    }
+
+    public void clear() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        tracks.clear();
+    }
+}
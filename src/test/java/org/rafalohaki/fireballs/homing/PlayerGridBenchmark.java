@@ -0,0 +1,106 @@
+package org.rafalohaki.fireballs.homing;
+
+import java.util.Random;
+
+/**
+ * Plain-Java benchmark of the homing target lookup, runnable without a server:
+ *
+ *   mvn -q test-compile
+ *   java -cp target/classes:target/test-classes org.rafalohaki.fireballs.homing.PlayerGridBenchmark
+ *
+ * Simulates one region section (16x16 chunks) per tick: the grid is rebuilt
+ * once from the player snapshot, then every homing fireball looks up its
+ * nearest target. The naive column scans every player per fireball as a
+ * baseline. Grid time per fireball should stay roughly flat as the fireball
+ * count grows and depend on the player density around each fireball rather
+ * than on the total player count.
+ */
+public final class PlayerGridBenchmark {
+
+    private static final double SECTION_BLOCKS = 256.0;
+    private static final double RANGE = 32.0;
+    private static final int[] PLAYERS = {20, 200, 2_000};
+    private static final int[] FIREBALLS = {100, 1_000, 10_000};
+    private static final int WARMUP_TICKS = 200;
+    private static final int MEASURED_TICKS = 200;
+
+    // Keeps results alive so the JIT cannot drop the lookups
+    private static long sink;
+
+    private PlayerGridBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(1L);
+        PlayerGrid<Integer> grid = new PlayerGrid<>();
+
+        System.out.printf("range=%.0f section=%.0fx%.0f blocks%n", RANGE, SECTION_BLOCKS, SECTION_BLOCKS);
+        System.out.printf("%8s %10s %14s %14s %12s %12s%n",
+                "players", "fireballs", "naive us/tick", "grid us/tick", "naive ns/fb", "grid ns/fb");
+        for (int players : PLAYERS) {
+            double[][] playerPositions = randomPositions(random, players);
+            for (int fireballs : FIREBALLS) {
+                double[][] fireballPositions = randomPositions(random, fireballs);
+                double naive = measure(() -> naiveTick(playerPositions, fireballPositions));
+                double indexed = measure(() -> gridTick(grid, playerPositions, fireballPositions));
+                System.out.printf("%8d %10d %14.1f %14.1f %12.1f %12.1f%n", players, fireballs,
+                        naive / 1000.0, indexed / 1000.0, naive / fireballs, indexed / fireballs);
+            }
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    /**
+     * @return average nanoseconds per tick after warmup
+     */
+    private static double measure(Runnable tick) {
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tick.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            tick.run();
+        }
+        return (double) (System.nanoTime() - start) / MEASURED_TICKS;
+    }
+
+    private static void naiveTick(double[][] players, double[][] fireballs) {
+        double rangeSquared = RANGE * RANGE;
+        for (double[] fb : fireballs) {
+            int best = -1;
+            double bestSquared = rangeSquared;
+            for (int i = 0; i < players.length; i++) {
+                double dx = players[i][0] - fb[0];
+                double dy = players[i][1] - fb[1];
+                double dz = players[i][2] - fb[2];
+                double d = dx * dx + dy * dy + dz * dz;
+                if (d <= bestSquared) {
+                    bestSquared = d;
+                    best = i;
+                }
+            }
+            sink += best;
+        }
+    }
+
+    private static void gridTick(PlayerGrid<Integer> grid, double[][] players, double[][] fireballs) {
+        grid.clear();
+        for (int i = 0; i < players.length; i++) {
+            grid.add(i, players[i][0], players[i][1], players[i][2]);
+        }
+        for (double[] fb : fireballs) {
+            Integer best = grid.nearest(fb[0], fb[1], fb[2], RANGE, p -> true);
+            sink += best == null ? -1 : best;
+        }
+    }
+
+    private static double[][] randomPositions(Random random, int count) {
+        double[][] positions = new double[count][3];
+        for (double[] p : positions) {
+            p[0] = random.nextDouble() * SECTION_BLOCKS;
+            p[1] = 60.0 + random.nextDouble() * 20.0;
+            p[2] = random.nextDouble() * SECTION_BLOCKS;
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,82 @@
+package org.rafalohaki.fireballs.homing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PlayerGridTest {
+
+    private final PlayerGrid<String> grid = new PlayerGrid<>();
+
+    @Test
+    void emptyGridFindsNothing() {
+        assertNull(grid.nearest(0, 64, 0, 32, p -> true));
+    }
+
+    @Test
+    void findsNearestWithinRange() {
+        grid.add("far", 20, 64, 0);
+        grid.add("near", 5, 64, 0);
+        grid.add("outside", 100, 64, 0);
+        assertEquals("near", grid.nearest(0, 64, 0, 32, p -> true));
+        assertNull(grid.nearest(60, 64, 60, 10, p -> true));
+    }
+
+    @Test
+    void filterSkipsRejectedPlayers() {
+        grid.add("teammate", 2, 64, 0);
+        grid.add("enemy", 10, 64, 0);
+        assertEquals("enemy", grid.nearest(0, 64, 0, 32, p -> !p.equals("teammate")));
+    }
+
+    @Test
+    void rangeIncludesHeight() {
+        grid.add("above", 0, 100, 0);
+        assertNull(grid.nearest(0, 64, 0, 32, p -> true));
+        assertEquals("above", grid.nearest(0, 64, 0, 40, p -> true));
+    }
+
+    @Test
+    void sparsePathIgnoresCellsOutOfRange() {
+        // Few occupied cells and a wide range take the sparse path
+        grid.add("in", -30, 64, -30);
+        grid.add("out", 500, 64, -500);
+        assertEquals("in", grid.nearest(-10, 64, -10, 64, p -> true));
+        assertNull(grid.nearest(200, 64, 200, 64, p -> true));
+    }
+
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(42L);
+        double[][] positions = new double[200][3];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i][0] = random.nextDouble() * 512 - 256;
+            positions[i][1] = 60 + random.nextDouble() * 20;
+            positions[i][2] = random.nextDouble() * 512 - 256;
+            grid.add(Integer.toString(i), positions[i][0], positions[i][1], positions[i][2]);
+        }
+        for (int q = 0; q < 500; q++) {
+            double x = random.nextDouble() * 600 - 300;
+            double y = 60 + random.nextDouble() * 20;
+            double z = random.nextDouble() * 600 - 300;
+            double range = 4 + random.nextDouble() * 200;
+
+            String expected = null;
+            double bestSquared = range * range;
+            for (int i = 0; i < positions.length; i++) {
+                double dx = positions[i][0] - x;
+                double dy = positions[i][1] - y;
+                double dz = positions[i][2] - z;
+                double d = dx * dx + dy * dy + dz * dz;
+                if (d <= bestSquared) {
+                    bestSquared = d;
+                    expected = Integer.toString(i);
+                }
+            }
+            assertEquals(expected, grid.nearest(x, y, z, range, p -> true));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.rafalohaki.fireballs.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JournalReplayTest {
+
+    @TempDir
+    Path dir;
+
+    private static JournalRecord record(JournalEventType type, long tick, long time, float x, float y, float z,
+                                        UUID subject) {
+        return new JournalRecord(type, 1, tick, time, (int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4,
+                x, y, z, subject);
+    }
+
+    @Test
+    void cooldownRejectsRapidFire() {
+        UUID shooter = UUID.randomUUID();
+        JournalReplay replay = new JournalReplay(3000L, 4.0f);
+        replay.accept(record(JournalEventType.FIRE_ATTEMPT, 0L, 1000L, 0f, 64f, 0f, shooter));
+        replay.accept(record(JournalEventType.FIRE_ATTEMPT, 20L, 2000L, 0f, 64f, 0f, shooter));
+        replay.accept(record(JournalEventType.FIRE_ATTEMPT, 80L, 4000L, 0f, 64f, 0f, shooter));
+        assertEquals(2L, replay.acceptedFires());
+    }
+
+    @Test
+    void deathNearRecentHitIsAttributed() {
+        UUID shooter = UUID.randomUUID();
+        UUID victim = UUID.randomUUID();
+        JournalReplay replay = new JournalReplay(0L, 4.0f);
+        replay.accept(record(JournalEventType.HIT, 100L, 0L, 10f, 64f, 10f, shooter));
+        replay.accept(record(JournalEventType.DEATH, 101L, 0L, 12f, 64f, 11f, victim));
+        // Source expired 5 ticks after the hit
+        replay.accept(record(JournalEventType.DEATH, 106L, 0L, 12f, 64f, 11f, victim));
+        // Too far from the hit
+        replay.accept(record(JournalEventType.HIT, 200L, 0L, 10f, 64f, 10f, shooter));
+        replay.accept(record(JournalEventType.DEATH, 201L, 0L, 40f, 64f, 40f, victim));
+        assertEquals(1L, replay.attributedDeaths());
+    }
+
+    @Test
+    void replaysWrittenJournal() throws IOException {
+        UUID shooter = UUID.randomUUID();
+        JournalWriter writer = new JournalWriter(dir, 64 * 1024, 1024 * 1024, 4, Logger.getAnonymousLogger());
+        writer.open();
+        writer.append(JournalEventType.FIRE_ATTEMPT, 1, 0L, 1000L, 0, 0, 0f, 64f, 0f, shooter);
+        writer.append(JournalEventType.FIRE_ATTEMPT, 1, 1L, 1050L, 0, 0, 0f, 64f, 0f, shooter);
+        writer.append(JournalEventType.HIT, 1, 2L, 1100L, 0, 0, 5f, 64f, 5f, shooter);
+        writer.append(JournalEventType.DEATH, 1, 3L, 1150L, 0, 0, 6f, 64f, 5f, UUID.randomUUID());
+        writer.close();
+
+        JournalReplay replay = new JournalReplay(3000L, 4.0f);
+        assertEquals(4L, JournalReader.readAll(dir, replay::accept));
+        assertEquals(1L, replay.acceptedFires());
+        assertEquals(1L, replay.attributedDeaths());
+    }
+}
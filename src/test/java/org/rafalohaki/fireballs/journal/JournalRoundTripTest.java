@@ -0,0 +1,126 @@
+package org.rafalohaki.fireballs.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalRoundTripTest {
+
+    private static final Logger LOGGER = Logger.getLogger(JournalRoundTripTest.class.getName());
+
+    @TempDir
+    Path dir;
+
+    private JournalWriter writer(long fileSize, int maxFiles) throws IOException {
+        JournalWriter writer = new JournalWriter(dir, 4 * 1024 * 1024, fileSize, maxFiles, LOGGER);
+        writer.open();
+        return writer;
+    }
+
+    @Test
+    void recordsSurviveRoundTrip() throws IOException {
+        UUID player = UUID.randomUUID();
+        JournalWriter writer = writer(1024 * 1024, 4);
+        assertTrue(writer.append(JournalEventType.FIRE_ATTEMPT, 42, 100L, 5000L, -3, 7, 1.5f, 64.0f, -20.25f, player));
+        assertTrue(writer.append(JournalEventType.EXPLOSION, 42, 101L, 5050L, -3, 7, 2.0f, 65.0f, -21.0f, null));
+        writer.close();
+
+        List<JournalRecord> records = new ArrayList<>();
+        assertEquals(2L, JournalReader.readAll(dir, records::add));
+
+        JournalRecord first = records.get(0);
+        assertEquals(JournalEventType.FIRE_ATTEMPT, first.type());
+        assertEquals(42, first.worldKey());
+        assertEquals(100L, first.tick());
+        assertEquals(5000L, first.timeMillis());
+        assertEquals(-3, first.chunkX());
+        assertEquals(7, first.chunkZ());
+        assertEquals(1.5f, first.x());
+        assertEquals(64.0f, first.y());
+        assertEquals(-20.25f, first.z());
+        assertEquals(player, first.subject());
+
+        assertEquals(JournalEventType.EXPLOSION, records.get(1).type());
+        assertNull(records.get(1).subject());
+    }
+
+    @Test
+    void rotatesAndKeepsNewestFiles() throws IOException {
+        // Room for 4 records per file
+        JournalWriter writer = writer(4L * JournalWriter.RECORD_SIZE, 2);
+        for (int i = 0; i < 10; i++) {
+            writer.append(JournalEventType.SPAWN, 1, i, i, 0, 0, 0f, 0f, 0f, null);
+            writer.flush();
+        }
+        writer.close();
+
+        List<Path> files = JournalReader.listFiles(dir);
+        assertEquals(2, files.size());
+        List<JournalRecord> records = new ArrayList<>();
+        JournalReader.readAll(dir, records::add);
+        // Newest two files: one full, one with the last two records
+        assertEquals(6, records.size());
+        assertEquals(9L, records.get(records.size() - 1).tick());
+    }
+
+    @Test
+    void reopenContinuesAfterNewestFile() throws IOException {
+        JournalWriter first = writer(1024, 8);
+        first.append(JournalEventType.SPAWN, 1, 1L, 1L, 0, 0, 0f, 0f, 0f, null);
+        first.close();
+        JournalWriter second = writer(1024, 8);
+        second.append(JournalEventType.SPAWN, 1, 2L, 2L, 0, 0, 0f, 0f, 0f, null);
+        second.close();
+
+        assertEquals(2, JournalReader.listFiles(dir).size());
+        assertEquals(2L, JournalReader.readAll(dir, r -> { }));
+    }
+
+    @Test
+    void closeDrainsEveryThreadsRecords() throws Exception {
+        JournalWriter writer = writer(1024 * 1024, 4);
+        int threads = 8;
+        int perThread = 100;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    writer.append(JournalEventType.HIT, id, i, i, 0, 0, 0f, 0f, 0f, null);
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+        done.await();
+        writer.close();
+
+        Set<Long> seen = new HashSet<>();
+        long count = JournalReader.readAll(dir, r -> seen.add(((long) r.worldKey() << 32) | r.tick()));
+        assertEquals(threads * perThread, count);
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void appendAfterCloseIsRejected() throws IOException {
+        JournalWriter writer = writer(1024, 4);
+        writer.close();
+        assertFalse(writer.isOpen());
+        assertFalse(writer.append(JournalEventType.SPAWN, 1, 1L, 1L, 0, 0, 0f, 0f, 0f, null));
+        assertEquals(0L, JournalReader.readAll(dir, r -> { }));
+    }
+}
@@ -0,0 +1,75 @@
+package org.rafalohaki.fireballs.listener;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CooldownTrackerTest {
+
+    private final CooldownTracker tracker = new CooldownTracker();
+    private final UUID player = UUID.randomUUID();
+
+    @Test
+    void firstUseAcquires() {
+        assertEquals(0L, tracker.tryAcquire(player, 1000L, 3000L));
+    }
+
+    @Test
+    void secondUseReportsTimeLeft() {
+        tracker.tryAcquire(player, 1000L, 3000L);
+        assertEquals(2000L, tracker.tryAcquire(player, 2000L, 3000L));
+        assertEquals(0L, tracker.tryAcquire(player, 4000L, 3000L));
+    }
+
+    @Test
+    void zeroCooldownNeverTracks() {
+        assertEquals(0L, tracker.tryAcquire(player, 1000L, 0L));
+        assertEquals(0L, tracker.tryAcquire(player, 1000L, 0L));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void remoteUseKeepsMostRecent() {
+        tracker.applyRemote(player, 5000L);
+        tracker.applyRemote(player, 1000L);
+        assertEquals(2000L, tracker.tryAcquire(player, 6000L, 3000L));
+    }
+
+    @Test
+    void removeExpiredDropsOnlyOldEntries() {
+        UUID other = UUID.randomUUID();
+        tracker.tryAcquire(player, 1000L, 3000L);
+        tracker.tryAcquire(other, 4000L, 3000L);
+        assertEquals(1, tracker.removeExpired(5000L, 3000L));
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    void concurrentAttemptsAcquireOnce() throws InterruptedException {
+        int threads = 16;
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    if (tracker.tryAcquire(player, 1000L, 3000L) == 0L) {
+                        acquired.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        assertEquals(1, acquired.get());
+    }
+}
@@ -0,0 +1,216 @@
+package org.rafalohaki.fireballs.sync;
+
+import org.junit.jupiter.api.Test;
+import org.rafalohaki.fireballs.listener.CooldownTracker;
+import org.rafalohaki.fireballs.listener.KillStats;
+import org.rafalohaki.fireballs.sync.SyncCodec.Update;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoopbackSyncTest {
+
+    /**
+     * One node: its codec, loopback transport and replicated state.
+     */
+    private static final class Node {
+        final SyncCodec codec;
+        final LoopbackTransport transport;
+        final CooldownTracker cooldowns = new CooldownTracker();
+        final KillStats kills = new KillStats();
+        int received;
+
+        Node(int nodeId, String channel) {
+            this.codec = new SyncCodec(nodeId);
+            this.transport = new LoopbackTransport(channel);
+            transport.start(frame -> {
+                if (codec.decode(frame, cooldowns, kills)) {
+                    received++;
+                }
+            });
+        }
+
+        void publish(long baseTime, List<Update> drained) {
+            transport.send(codec.encode(baseTime, SyncCodec.coalesce(drained, baseTime)));
+        }
+    }
+
+    /**
+     * One node driven through ClusterSync, flushed by hand instead of the AsyncScheduler.
+     */
+    private static final class SyncNode {
+        final CooldownTracker cooldowns = new CooldownTracker();
+        final KillStats kills = new KillStats();
+        final ClusterSync sync;
+
+        SyncNode(String channel, int maxBatch, int maxQueue) {
+            this.sync = new ClusterSync(Logger.getLogger("LoopbackSyncTest"), new LoopbackTransport(channel),
+                    maxBatch, maxQueue);
+            assertTrue(sync.startTransport(cooldowns, kills));
+        }
+
+        void close() {
+            sync.close();
+        }
+    }
+
+    private static String channel() {
+        return "test-" + UUID.randomUUID();
+    }
+
+    @Test
+    void cooldownReplicatesToOtherNode() {
+        String channel = channel();
+        Node a = new Node(1, channel);
+        Node b = new Node(2, channel);
+        UUID player = UUID.randomUUID();
+
+        a.publish(10_000L, List.of(new Update(SyncCodec.TYPE_COOLDOWN, player, 9_000L)));
+
+        assertEquals(1, b.received);
+        assertEquals(0, a.received);
+        // Used at 9000 with a 3 s cooldown - blocked until 12000 on node b
+        assertEquals(1_000L, b.cooldowns.tryAcquire(player, 11_000L, 3_000L));
+        a.transport.close();
+        b.transport.close();
+    }
+
+    @Test
+    void updatesAreCoalescedBeforeSending() {
+        String channel = channel();
+        Node a = new Node(1, channel);
+        Node b = new Node(2, channel);
+        UUID player = UUID.randomUUID();
+
+        a.publish(10_000L, List.of(
+                new Update(SyncCodec.TYPE_COOLDOWN, player, 5_000L),
+                new Update(SyncCodec.TYPE_COOLDOWN, player, 8_000L),
+                new Update(SyncCodec.TYPE_KILLS, player, 1L),
+                new Update(SyncCodec.TYPE_KILLS, player, 1L),
+                new Update(SyncCodec.TYPE_KILLS, player, 1L)));
+
+        assertEquals(2, SyncCodec.coalesce(List.of(
+                new Update(SyncCodec.TYPE_COOLDOWN, player, 5_000L),
+                new Update(SyncCodec.TYPE_COOLDOWN, player, 8_000L),
+                new Update(SyncCodec.TYPE_KILLS, player, 1L)), 10_000L).size());
+        assertEquals(3L, b.kills.get(player));
+        assertEquals(1_000L, b.cooldowns.tryAcquire(player, 10_000L, 3_000L));
+        a.transport.close();
+        b.transport.close();
+    }
+
+    @Test
+    void flushSplitsBatchesForAllPeers() {
+        String channel = channel();
+        SyncNode a = new SyncNode(channel, 100, 10_000);
+        SyncNode b = new SyncNode(channel, 100, 10_000);
+        SyncNode c = new SyncNode(channel, 100, 10_000);
+        List<byte[]> frames = new CopyOnWriteArrayList<>();
+        LoopbackTransport probe = new LoopbackTransport(channel);
+        probe.start(frames::add);
+
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID player = UUID.randomUUID();
+            players.add(player);
+            // Two kills per player coalesce into one entry with delta 2
+            a.sync.publishKill(player);
+            a.sync.publishKill(player);
+        }
+        a.sync.flush();
+
+        // 1000 coalesced entries at max-batch 100
+        assertEquals(10, frames.size());
+        for (UUID player : players) {
+            assertEquals(2L, b.kills.get(player));
+            assertEquals(2L, c.kills.get(player));
+        }
+        assertEquals(0, a.kills.size());
+        a.sync.flush();
+        assertEquals(10, frames.size()); // Nothing left to send
+        probe.close();
+        a.close();
+        b.close();
+        c.close();
+    }
+
+    @Test
+    void fullQueueDropsNewUpdates() {
+        String channel = channel();
+        SyncNode a = new SyncNode(channel, 512, 50);
+        SyncNode b = new SyncNode(channel, 512, 50);
+
+        for (int i = 0; i < 80; i++) {
+            a.sync.publishKill(UUID.randomUUID());
+        }
+        a.sync.flush();
+        assertEquals(50, b.kills.size());
+
+        // Flushing frees the queue again
+        a.sync.publishKill(UUID.randomUUID());
+        a.sync.flush();
+        assertEquals(51, b.kills.size());
+        a.close();
+        b.close();
+    }
+
+    @Test
+    void ownFramesAreIgnored() {
+        SyncCodec codec = new SyncCodec(7);
+        KillStats kills = new KillStats();
+        UUID player = UUID.randomUUID();
+        byte[] frame = codec.encode(1L, List.of(new Update(SyncCodec.TYPE_KILLS, player, 5L)));
+
+        assertFalse(codec.decode(frame, new CooldownTracker(), kills));
+        assertEquals(0L, kills.get(player));
+        assertTrue(new SyncCodec(8).decode(frame, new CooldownTracker(), kills));
+        assertEquals(5L, kills.get(player));
+    }
+
+    @Test
+    void closedTransportStopsReceiving() {
+        String channel = channel();
+        Node a = new Node(1, channel);
+        Node b = new Node(2, channel);
+        b.transport.close();
+
+        a.publish(1L, List.of(new Update(SyncCodec.TYPE_KILLS, UUID.randomUUID(), 1L)));
+        assertEquals(0, b.received);
+        a.transport.close();
+    }
+
+    @Test
+    void truncatedFrameIsRejected() {
+        byte[] frame = new SyncCodec(1).encode(1L, List.of(new Update(SyncCodec.TYPE_KILLS, UUID.randomUUID(), 1L)));
+        byte[] truncated = Arrays.copyOf(frame, frame.length - 10);
+        assertThrows(RuntimeException.class,
+                () -> new SyncCodec(2).decode(truncated, new CooldownTracker(), new KillStats()));
+    }
+
+    @Test
+    void truncatedFrameAppliesNothing() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        byte[] frame = new SyncCodec(1).encode(10_000L, List.of(
+                new Update(SyncCodec.TYPE_KILLS, first, 3L),
+                new Update(SyncCodec.TYPE_COOLDOWN, first, 500L),
+                new Update(SyncCodec.TYPE_KILLS, second, 4L)));
+        // Cut inside the last entry - the first two parse cleanly
+        byte[] truncated = Arrays.copyOf(frame, frame.length - 5);
+        KillStats kills = new KillStats();
+        CooldownTracker cooldowns = new CooldownTracker();
+
+        assertThrows(RuntimeException.class, () -> new SyncCodec(2).decode(truncated, cooldowns, kills));
+        assertEquals(0, kills.size());
+        assertEquals(0, cooldowns.size());
+    }
+}